@@ -0,0 +1,207 @@
+/*** GenerateBenchmarks.java **************************************************\
+ * Author:         twisted_nematic57                                          *
+ * Date Created:   2026-10-17                                                 *
+ * Description:    Build-time generator for the JMH module. Scans the         *
+ *                 solution packages of SolveKit and writes one JMH benchmark *
+ *                 class per solution, wired up with the same input           *
+ *                 conventions as the platform handlers. Run by Maven as a    *
+ *                 single-file Java program.                                  *
+\******************************************************************************/
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+public class GenerateBenchmarks {
+  // How solutions of a platform get their input. Mirrors the platform handlers in ../Solutions.
+  enum InputKind {
+    LINES,    // main(String[]) with the lines of the input file (AdventOfCodePlatformHandler)
+    TEST_NUM, // main(int) with the test number (LeetCodePlatformHandler)
+    NONE,     // main() without any input (ProjectEulerPlatformHandler)
+    STDIN     // main() reading the input file from stdin (StdinPlatformHandler)
+  }
+
+  static final Map<String, InputKind> PLATFORMS = new LinkedHashMap<>();
+  static {
+    PLATFORMS.put("AdventOfCode", InputKind.LINES);
+    PLATFORMS.put("LeetCode", InputKind.TEST_NUM);
+    PLATFORMS.put("ProjectEuler", InputKind.NONE);
+    PLATFORMS.put("Codeforces", InputKind.STDIN);
+    PLATFORMS.put("AtCoder", InputKind.STDIN);
+    PLATFORMS.put("SPOJ", InputKind.STDIN);
+    PLATFORMS.put("UVa", InputKind.STDIN);
+  }
+
+  static final String PACKAGE = "solvekit.jmh";
+
+  // Args: {solution source root} {inputs directory} {output source root}
+  public static void main(String[] args) throws IOException {
+    Path sources = Path.of(args[0]);
+    Path inputs = Path.of(args[1]).toAbsolutePath().normalize();
+    Path output = Path.of(args[2]).resolve(PACKAGE.replace('.', '/'));
+
+    // Start from scratch so that benchmarks of deleted solutions don't linger around
+    if(Files.exists(output)) {
+      try(Stream<Path> old = Files.walk(output)) {
+        for(Path p : old.sorted(Comparator.reverseOrder()).toList()) {
+          Files.delete(p);
+        }
+      }
+    }
+    Files.createDirectories(output);
+    Files.writeString(output.resolve("SolveKitInputs.java"), generateInputsClass(inputs));
+
+    int generated = 0;
+    for(Map.Entry<String, InputKind> platform : PLATFORMS.entrySet()) {
+      for(String solution : findSolutions(sources.resolve(platform.getKey()))) {
+        List<String> tests = findTests(inputs.resolve(platform.getKey()), solution, platform.getValue());
+        String className = platform.getKey() + "_" + solution;
+        Files.writeString(output.resolve(className + ".java"),
+            generate(className, platform.getKey(), solution, platform.getValue(), tests));
+        generated++;
+      }
+    }
+
+    System.out.println("Generated " + generated + " JMH benchmark classes in " + output);
+  }
+
+  // Names of the classes in a platform's package that have a public static main method
+  static List<String> findSolutions(Path platformDir) throws IOException {
+    List<String> solutions = new ArrayList<>();
+    if(!Files.isDirectory(platformDir)) {
+      return solutions;
+    }
+
+    try(Stream<Path> files = Files.list(platformDir)) {
+      for(Path file : files.filter(f -> f.toString().endsWith(".java")).sorted().toList()) {
+        String name = file.getFileName().toString().replace(".java", "");
+        String source = Files.readString(file);
+        if(source.contains("public class " + name) && source.contains("public static void main(")) {
+          solutions.add(name);
+        }
+      }
+    }
+    return solutions;
+  }
+
+  /* Test numbers to generate @Param values for. For solutions that read input files, these are the tests whose input
+     files exist right now; otherwise (or if there are none yet) test 1 is used. Either way, other tests can be picked
+     when running the benchmarks with `-p test=0,1,2`. */
+  static List<String> findTests(Path platformInputs, String solution, InputKind kind) {
+    List<String> tests = new ArrayList<>();
+    if(kind == InputKind.LINES || kind == InputKind.STDIN) {
+      for(int test = 0; test <= 9; test++) {
+        if(Files.exists(platformInputs.resolve("i_" + solution + "_" + test + ".txt"))) {
+          tests.add(Integer.toString(test));
+        }
+      }
+    }
+    if(tests.isEmpty()) {
+      tests.add("1");
+    }
+    return tests;
+  }
+
+  // Holds the inputs directory the benchmarks were generated from, so that benchmarks.jar finds it from any directory
+  static String generateInputsClass(Path inputs) {
+    String literal = inputs.toString().replace("\\", "\\\\").replace("\"", "\\\"");
+    return """
+        // Generated by Benchmarks/src/build/java/GenerateBenchmarks.java; do not edit.
+        package %s;
+
+        final class SolveKitInputs {
+          static final String DIRECTORY = "%s";
+
+          private SolveKitInputs() { }
+        }
+        """.formatted(PACKAGE, literal);
+  }
+
+  static String generate(String className, String platform, String solution, InputKind kind, List<String> tests) {
+    String params = tests.stream().map(t -> "\"" + t + "\"").collect(Collectors.joining(", "));
+    String call = platform + "." + solution + ".main";
+
+    String fields;
+    String ioSetup = "io = SolutionIO.captureOutput(blackhole);";
+    String setup;
+    String body;
+    switch(kind) {
+      case LINES -> {
+        fields = """
+              private String[] cachedInput;
+              private String[] input; // Fresh copy for every call, like AdventOfCodePlatformHandler does
+            """;
+        setup = """
+                cachedInput = SolutionIO.readLines("%s", "%s", test);
+              }
+
+              @Setup(Level.Invocation)
+              public void copyInput() {
+                input = cachedInput.clone();
+            """.formatted(platform, solution);
+        body = call + "(input);";
+      }
+      case TEST_NUM -> {
+        fields = "";
+        setup = "";
+        body = call + "(test);";
+      }
+      case NONE -> {
+        fields = "";
+        setup = "";
+        body = call + "();";
+      }
+      default -> { // STDIN
+        fields = "";
+        ioSetup = "io = SolutionIO.captureOutputAndReplayStdin(blackhole, \"%s\", \"%s\", test);".formatted(platform, solution);
+        setup = "";
+        body = "io.rewindStdin();\n    " + call + "();";
+      }
+    }
+
+    return """
+        // Generated by Benchmarks/src/build/java/GenerateBenchmarks.java; do not edit.
+        package %s;
+
+        import org.openjdk.jmh.annotations.*;
+        import org.openjdk.jmh.infra.Blackhole;
+
+        import java.util.concurrent.TimeUnit;
+
+        @State(Scope.Thread)
+        @BenchmarkMode(Mode.AverageTime)
+        @OutputTimeUnit(TimeUnit.MICROSECONDS)
+        @Fork(3)
+        @Warmup(iterations = 5, time = 1)
+        @Measurement(iterations = 5, time = 1)
+        public class %s {
+          @Param({%s})
+          public int test;
+
+          private SolutionIO io;
+        %s
+          @Setup(Level.Trial)
+          public void setup(Blackhole blackhole) throws Exception {
+            %s
+        %s  }
+
+          @TearDown(Level.Trial)
+          public void tearDown() {
+            io.restore();
+          }
+
+          @Benchmark
+          public void main() throws Exception {
+            %s
+          }
+        }
+        """.formatted(PACKAGE, className, params, fields, ioSetup, setup, body);
+  }
+}
@@ -0,0 +1,96 @@
+/*** SolutionIO.java **********************************************************\
+ * Author:         twisted_nematic57                                          *
+ * Date Created:   2026-10-17                                                 *
+ * Description:    Gives generated JMH benchmarks the same input conventions  *
+ *                 as SolveKit's platform handlers: input files named         *
+ *                 i_<name>_<test>.txt, stdin that is replayed for every      *
+ *                 call, and console output that goes into a JMH Blackhole.   *
+\******************************************************************************/
+
+package solvekit.jmh;
+
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+public final class SolutionIO {
+  // Directory that holds the input files, laid out like SolveKit's inputs directory ({Platform}/i_{name}_{test}.txt).
+  // Defaults to the absolute path the benchmarks were generated from (the solvekit.inputs property of the pom), so
+  // benchmarks.jar works from any directory. JMH forks inherit system properties, so -Dsolvekit.inputs=... overrides it
+  // for every fork.
+  private static final Path INPUTS = Path.of(System.getProperty("solvekit.inputs", SolveKitInputs.DIRECTORY));
+
+  private final InputStream originalIn = System.in;
+  private final PrintStream originalOut = System.out;
+  private final PrintStream originalErr = System.err;
+  private ByteArrayInputStream stdin; // null for platforms that don't use stdin
+
+  private SolutionIO() { }
+
+  // Sends console output of solutions into the blackhole, so that the JIT can't optimize away work that only
+  // produces output.
+  public static SolutionIO captureOutput(Blackhole blackhole) {
+    SolutionIO io = new SolutionIO();
+    PrintStream sink = new PrintStream(new BlackholeOutputStream(blackhole));
+    System.setOut(sink);
+    System.setErr(sink);
+    return io;
+  }
+
+  // Same as captureOutput(), plus stdin reads from the solution's input file. Call rewindStdin() before every call of
+  // the solution.
+  public static SolutionIO captureOutputAndReplayStdin(Blackhole blackhole, String platform, String name, int test)
+      throws IOException {
+    SolutionIO io = captureOutput(blackhole);
+    io.stdin = new ByteArrayInputStream(Files.readAllBytes(inputFile(platform, name, test)));
+    System.setIn(io.stdin);
+    return io;
+  }
+
+  // Reads the solution's input file as an array of lines (Advent of Code).
+  public static String[] readLines(String platform, String name, int test) throws IOException {
+    List<String> lines = Files.readAllLines(inputFile(platform, name, test));
+    return lines.toArray(new String[0]);
+  }
+
+  public void rewindStdin() {
+    stdin.reset();
+  }
+
+  // Puts the original console streams back.
+  public void restore() {
+    System.setIn(originalIn);
+    System.setOut(originalOut);
+    System.setErr(originalErr);
+  }
+
+  private static Path inputFile(String platform, String name, int test) {
+    return INPUTS.resolve(platform).resolve("i_" + name + "_" + test + ".txt");
+  }
+
+  private static class BlackholeOutputStream extends OutputStream {
+    private final Blackhole blackhole;
+
+    BlackholeOutputStream(Blackhole blackhole) {
+      this.blackhole = blackhole;
+    }
+
+    @Override
+    public void write(int b) {
+      blackhole.consume(b);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) {
+      blackhole.consume(b);
+      blackhole.consume(len);
+    }
+  }
+}
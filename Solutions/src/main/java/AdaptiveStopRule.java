@@ -0,0 +1,73 @@
+/*** AdaptiveStopRule.java ****************************************************\
+ * Author:         twisted_nematic57                                          *
+ * Date Created:   2026-10-17                                                 *
+ * Description:    Decides when an adaptive benchmark has run for long        *
+ *                 enough: either the confidence interval of the steady-state *
+ *                 median is narrow enough, or the time budget has run out.   *
+\******************************************************************************/
+
+public class AdaptiveStopRule {
+  private static final int MIN_STEADY_SAMPLES = 30; // Don't trust an interval built from fewer steady-state runtimes
+  private static final int MIN_ITERATIONS = 2; // Even past the budget, so that the results have a run on each side
+  private static final double CHECK_GROWTH = 1.1; // Check again once there are 10% more steady-state runtimes
+
+  private final BenchmarkOptions options;
+  private final long deadline; // System.nanoTime() value at which the time budget runs out
+
+  private long nextCheck = MIN_STEADY_SAMPLES;
+  private double achievedPrecision = Double.POSITIVE_INFINITY;
+  private boolean targetMet = false;
+  private boolean checked = false; // Whether the interval has been checked at all
+
+  public AdaptiveStopRule(BenchmarkOptions options) {
+    this.options = options;
+    this.deadline = System.nanoTime() + options.budgetNanos();
+  }
+
+  /* Called after every iteration with everything recorded so far. Returns true once the benchmark should stop.
+     Checking the interval means walking the steady-state histogram, so it only happens whenever the number of
+     steady-state runtimes has grown by 10%. The histogram can't tell apart runtimes that are closer together than its
+     resolution, so the achieved precision never counts as better than that. */
+  public boolean shouldStop(RuntimeRecorder recorder, long now) {
+    if(recorder.getCount() < MIN_ITERATIONS) {
+      return false;
+    }
+    if(now - deadline >= 0) {
+      return true;
+    }
+    if(!recorder.isSteady()) {
+      return false;
+    }
+
+    final RuntimeHistogram steady = recorder.getSteady();
+    final long steadyCount = steady.getCount();
+    if(steadyCount < nextCheck) {
+      return false;
+    }
+    nextCheck = (long)Math.ceil(steadyCount * CHECK_GROWTH);
+
+    long[] ranks = Statistics.medianConfidenceRanks(steadyCount, options.confidence());
+    long lower = steady.valueAtRank(ranks[0]);
+    long upper = steady.valueAtRank(ranks[1]);
+    long median = steady.valueAtRank(steadyCount / 2);
+    achievedPrecision = median == 0 ? 0 :
+        Math.max((upper - lower) / 2.0 / median, RuntimeHistogram.RELATIVE_RESOLUTION);
+    targetMet = achievedPrecision <= options.precision();
+    checked = true;
+    return targetMet;
+  }
+
+  // False if the budget ran out before there were enough steady-state runtimes to check the interval even once
+  public boolean wasChecked() {
+    return checked;
+  }
+
+  // Relative half-width of the median's confidence interval at the last check. Only meaningful if wasChecked().
+  public double getAchievedPrecision() {
+    return achievedPrecision;
+  }
+
+  public boolean isTargetMet() {
+    return targetMet;
+  }
+}
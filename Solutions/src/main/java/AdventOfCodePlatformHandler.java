@@ -5,87 +5,47 @@
  *                 Code problems.                                             *
 \******************************************************************************/
 
+import java.io.BufferedReader;
 import java.io.IOException;
-import java.io.OutputStream;
-import java.io.PrintStream;
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
-import java.nio.file.Files;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
 import java.util.List;
-import java.util.stream.Stream;
 
 public class AdventOfCodePlatformHandler implements PlatformHandler {
   private String[] cachedInput;
+  private String[] pendingInput; // Copy of cachedInput that the next run of the solution will receive
 
-  // Load input from an input file into an array of strings.
+  // Load input from an input file into an array of strings. The lines are decoded straight from the file's mapping in
+  // InputCache, so the raw bytes are never copied onto the heap next to them.
   @Override
   public void loadInput(SolutionSpecifier thisSolution) throws IOException {
-    List<String> input = List.of(); // Empty list
-    try (Stream<String> lines = Files.lines(
-        Path.of("AdventOfCode/i_" + thisSolution.name() + "_" + thisSolution.test() + ".txt"))) {
-      input = lines.toList();
+    try (BufferedReader lines = new BufferedReader(new InputStreamReader(InputCache.open(
+        Path.of("AdventOfCode/i_" + thisSolution.name() + "_" + thisSolution.test() + ".txt")), StandardCharsets.UTF_8))) {
+      cachedInput = lines.lines().toArray(String[]::new);
     }
-
-    cachedInput = input.toArray(new String[input.size()]);
   }
 
+  // Give every run its own copy of the input in case the solution modifies it. The copy is made outside of the timed
+  // region to increase accuracy of time measurements.
   @Override
-  public long runSolution(SolutionSpecifier thisSolution) throws NoSuchMethodException, InvocationTargetException, IllegalAccessException, ClassNotFoundException, IOException {
-    // Load input for the problem and testcase.
-    loadInput(thisSolution);
-    String[] input = cachedInput.clone();
-
-    // Do some reflection voodoo to be able to call the solution's main method
-    Class<?> solutionClass = Class.forName("AdventOfCode." + thisSolution.name());
-    Method solutionMain = solutionClass.getMethod("main", String[].class);
-
-    // Call the solution and time it.
-    long tickStart = System.nanoTime();
-    solutionMain.invoke(null, new Object[] {input});
-    return System.nanoTime() - tickStart; // Return execution time of entire solution
+  public void resetInput() {
+    pendingInput = cachedInput.clone();
   }
 
   @Override
-  public long[] benchmarkSolution(SolutionSpecifier thisSolution, int iterations) throws ClassNotFoundException, NoSuchMethodException, InvocationTargetException, IllegalAccessException, IOException {
-    // Load input for the problem and testcase.
-    loadInput(thisSolution);
-
-    // Do some reflection voodoo to be able to call the solution's main method
-    Class<?> solutionClass = Class.forName("AdventOfCode." + thisSolution.name());
-    Method solutionMain = solutionClass.getMethod("main", String[].class);
-
-    // Do not use the JVM argument --add-opens when running benchmarks. It is a legacy argument meant to maintain
-    // backwards compatibility with old code and is completely irrelevant to programming puzzle solutions.
-    solutionMain.setAccessible(true); // Make reflection-based method calling faster (won't work with --add-opens JVM arg)
-
-    PrintStream originalOut = System.out; // We're going to be enabling and disabling console output in the near future.
-    PrintStream originalErr = System.err;
-
-    long[] execTimes = new long[iterations];
-    for(int i = 0; i < iterations; i++) { // Run the solution `iterations` times and record execution time of each iteration
-      Object[] input = new Object[] {cachedInput.clone()}; // Do ->Object[] conversion beforehand to increase accuracy of later time measurements
-
-      // Disable console output to increase performance and ignore non-algorithmic runtime
-      System.setOut(new PrintStream(OutputStream.nullOutputStream()));
-      System.setErr(new PrintStream(OutputStream.nullOutputStream()));
-
-      try {
-        long tickStart = System.nanoTime(); // Begin timing
-        solutionMain.invoke(null, input);
-        execTimes[i] = System.nanoTime() - tickStart; // End timing
-      } finally {
-        System.setOut(originalOut); // Restore console printing functionality for stats printing of this run
-        System.setErr(originalErr);
-      }
+  public String platformName() {
+    return "AdventOfCode";
+  }
 
-      // Print the amount of time this iteration took to execute in both milliseconds and microseconds, as both may be useful.
-      // The format string left-aligns the iteration number integer, then pads it to the max number of digits any iteration # will have.
-      System.out.printf("Iteration " +
-          String.format("%-" + Integer.toString(iterations).length() + "d", i + 1) + // Iteration #
-          ": %.3f ms / %.1f µs\n", UnitConverter.ns_ms(execTimes[i]), UnitConverter.ns_us(execTimes[i])); // Times
-    }
+  @Override
+  public List<Integer> availableTests(String solutionName) {
+    return PlatformHandler.testsWithInputFiles(platformName(), solutionName);
+  }
 
-    return execTimes; // Return array of all execution times
+  @Override
+  public SolutionInvoker bindMain(Class<?> mainClass, SolutionSpecifier thisSolution) throws Exception {
+    InvokerFactory.StringArrayMain solutionMain = InvokerFactory.forStringArrayMain(mainClass);
+    return () -> solutionMain.main(pendingInput);
   }
 }
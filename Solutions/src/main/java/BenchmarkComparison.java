@@ -0,0 +1,153 @@
+/*** BenchmarkComparison.java *************************************************\
+ * Author:         twisted_nematic57                                          *
+ * Date Created:   2026-10-17                                                 *
+ * Description:    Compares the steady-state runtimes of two saved benchmarks *
+ *                 (a baseline and a candidate) with a Mann-Whitney U test,   *
+ *                 and estimates how much faster or slower the candidate is   *
+ *                 with the Hodges-Lehmann estimator.                         *
+\******************************************************************************/
+
+import java.util.Arrays;
+
+public class BenchmarkComparison {
+  public static final double SIGNIFICANCE = 0.05; // A difference with a p-value below this counts as real
+
+  private final int baselineRuns;
+  private final int candidateRuns;
+  private final long baselineMedian;
+  private final long candidateMedian;
+  private final double u; // Mann-Whitney U of the baseline: pairs where the baseline was slower, ties counting half
+  private final double pValue; // Two-sided
+  private final double shift; // Hodges-Lehmann estimate of candidate - baseline runtime, in ns
+  private final String verdict;
+
+  // As soon as the class is constructed, compare the runtimes. Both arrays get sorted in place.
+  public BenchmarkComparison(long[] baseline, long[] candidate) {
+    Arrays.parallelSort(baseline);
+    Arrays.parallelSort(candidate);
+    baselineRuns = baseline.length;
+    candidateRuns = candidate.length;
+    baselineMedian = baseline[baselineRuns / 2];
+    candidateMedian = candidate[candidateRuns / 2];
+
+    // Mann-Whitney U: rank both samples together (tied runtimes share the average of their ranks), then see how the
+    // baseline's rank sum compares to what it would be if both came from the same distribution. Runtimes repeat a lot
+    // at nanosecond resolution, so the variance gets the usual tie correction.
+    final double n1 = baselineRuns;
+    final double n2 = candidateRuns;
+    final double n = n1 + n2;
+    double baselineRankSum = 0;
+    double tieCorrection = 0; // Σ(t^3 - t) over groups of t tied runtimes
+    long nextRank = 1;
+    int i = 0;
+    int j = 0;
+    while(i < baselineRuns || j < candidateRuns) {
+      final long value = j == candidateRuns || (i < baselineRuns && baseline[i] <= candidate[j]) ? baseline[i] : candidate[j];
+      long tiedBaseline = 0;
+      while(i < baselineRuns && baseline[i] == value) {
+        tiedBaseline++;
+        i++;
+      }
+      long tiedCandidate = 0;
+      while(j < candidateRuns && candidate[j] == value) {
+        tiedCandidate++;
+        j++;
+      }
+      final double tied = tiedBaseline + tiedCandidate;
+      baselineRankSum += tiedBaseline * (nextRank + (tied - 1)/2); // Average rank of the tied group
+      tieCorrection += tied*tied*tied - tied;
+      nextRank += (long)tied;
+    }
+    u = baselineRankSum - n1*(n1 + 1)/2;
+
+    final double variance = n1*n2/12 * ((n + 1) - tieCorrection/(n*(n - 1)));
+    if(variance <= 0) { // Every single runtime was the same
+      pValue = 1;
+    } else {
+      final double z = (u - n1*n2/2) / Math.sqrt(variance);
+      pValue = Math.min(1, 2*Statistics.normalUpperTail(Math.abs(z)));
+    }
+
+    // Hodges-Lehmann: the median of all n1*n2 differences candidate[j] - baseline[i]
+    final long pairs = (long)baselineRuns * candidateRuns;
+    if(pairs % 2 == 1) {
+      shift = kthDifference(baseline, candidate, (pairs + 1) / 2);
+    } else {
+      shift = (kthDifference(baseline, candidate, pairs / 2) + (double)kthDifference(baseline, candidate, pairs/2 + 1)) / 2;
+    }
+
+    if(pValue >= SIGNIFICANCE || shift == 0) {
+      verdict = "no significant change";
+    } else {
+      verdict = shift < 0 ? "improved" : "regressed";
+    }
+  }
+
+  /* k-th smallest (1-indexed) of the differences candidate[j] - baseline[i], without materializing all of them: binary
+     search for the smallest d such that at least k differences are <= d. Counting those takes one merge-like pass
+     over both sorted arrays, so this is O((n1+n2) log(range)) instead of O(n1*n2). */
+  private static long kthDifference(long[] baseline, long[] candidate, long k) {
+    long low = candidate[0] - baseline[baseline.length - 1];
+    long high = candidate[candidate.length - 1] - baseline[0];
+    while(low < high) {
+      final long mid = low + (high - low)/2;
+      if(countDifferencesAtMost(baseline, candidate, mid) >= k) {
+        high = mid;
+      } else {
+        low = mid + 1;
+      }
+    }
+    return low;
+  }
+
+  // Number of pairs with candidate[j] - baseline[i] <= d, i.e. baseline[i] >= candidate[j] - d
+  private static long countDifferencesAtMost(long[] baseline, long[] candidate, long d) {
+    long count = 0;
+    int firstAtLeast = 0; // Index of the first baseline runtime >= candidate[j] - d; only moves forward as j grows
+    for(long runtime : candidate) {
+      while(firstAtLeast < baseline.length && baseline[firstAtLeast] < runtime - d) {
+        firstAtLeast++;
+      }
+      count += baseline.length - firstAtLeast;
+    }
+    return count;
+  }
+
+  public int getBaselineRuns() {
+    return baselineRuns;
+  }
+
+  public int getCandidateRuns() {
+    return candidateRuns;
+  }
+
+  public long getBaselineMedian() {
+    return baselineMedian;
+  }
+
+  public long getCandidateMedian() {
+    return candidateMedian;
+  }
+
+  public double getU() {
+    return u;
+  }
+
+  public double getPValue() {
+    return pValue;
+  }
+
+  public double getShift() {
+    return shift;
+  }
+
+  // Shift as a fraction of the baseline's median; negative means the candidate is faster
+  public double getRelativeShift() {
+    return baselineMedian == 0 ? 0 : shift / baselineMedian;
+  }
+
+  // "improved", "regressed" or "no significant change"
+  public String getVerdict() {
+    return verdict;
+  }
+}
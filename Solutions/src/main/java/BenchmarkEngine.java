@@ -0,0 +1,286 @@
+/*** BenchmarkEngine.java *****************************************************\
+ * Author:         twisted_nematic57                                          *
+ * Date Created:   2026-10-17                                                 *
+ * Description:    Runs and benchmarks solutions for every platform handler.  *
+ *                 Keeps the timed region down to the call of the solution:   *
+ *                 I/O sinks are set up once, input is reset outside of the   *
+ *                 timer, and per-iteration log lines are only printed after  *
+ *                 the last iteration. Also measures the CPU time and         *
+ *                 allocations of each iteration where the JVM supports it,   *
+ *                 and notes which iterations a garbage collection            *
+ *                 overlapped. Emits Flight Recorder events while Flight      *
+ *                 Recorder is running.                                       *
+\******************************************************************************/
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.Formatter;
+
+public class BenchmarkEngine {
+  // Anything solutions print to stderr gets thrown in here while benchmarking (stdout is captured instead; see
+  // OutputCapture). One instance is reused for every iteration (and every benchmark) so that the harness doesn't
+  // allocate anything between two timed regions.
+  private static final PrintStream NULL_SINK = new PrintStream(OutputStream.nullOutputStream());
+
+  private static final int ADAPTIVE_INITIAL_CAPACITY = 1 << 12;
+  private static final int CALIBRATION_ITERATIONS = 100_000; // A no-op settles quickly; this takes well under a second
+
+  // Counts the bytes allocated by the benchmarking thread. Null if this JVM can't, in which case allocations aren't
+  // tracked at all.
+  private static final com.sun.management.ThreadMXBean ALLOCATION_COUNTER = allocationCounter();
+  // Every garbage collector of this JVM. An array, so that polling them doesn't allocate an iterator.
+  private static final GarbageCollectorMXBean[] COLLECTORS =
+      ManagementFactory.getGarbageCollectorMXBeans().toArray(new GarbageCollectorMXBean[0]);
+
+  // Runs the solution once with console I/O left untouched. Returns the runtime of the solution in ns. The solution is
+  // loaded by `loader` if there is one (see SolutionClassLoader), and is the one on the classpath otherwise.
+  public static long runOnce(PlatformHandler handler, SolutionSpecifier thisSolution, ClassLoader loader) throws Exception {
+    handler.loadInput(thisSolution);
+    SolutionInvoker solution = loader != null ? handler.resolveSolution(thisSolution, loader) : handler.resolveSolution(thisSolution);
+    handler.passStdInput();
+    handler.resetInput();
+
+    // Call the solution and time it.
+    long tickStart = System.nanoTime();
+    solution.invoke();
+    return System.nanoTime() - tickStart; // Return execution time of entire solution
+  }
+
+  // Runs the solution `iterations` times. Returns histograms of the runtimes in ns, along with the number of iterations
+  // it took the JVM to warm up. The runtime of each iteration is only kept if keepRuntimes is true. Of the options, only
+  // isolate (each iteration runs a freshly loaded copy of the solution) and sink (where stdout goes) apply; see measure().
+  public static BenchmarkResult benchmark(PlatformHandler handler, SolutionSpecifier thisSolution, int iterations,
+                                          boolean keepRuntimes, BenchmarkOptions options) throws Exception {
+    BenchmarkResult result = measure(handler, thisSolution, options.isolate() ? null : handler.resolveSolution(thisSolution),
+        new RuntimeRecorder(iterations, iterations, keepRuntimes, CpuClock.isSupported(), ALLOCATION_COUNTER != null), iterations, null,
+        options.sink(), true);
+    printIterationLog(result);
+    return result;
+  }
+
+  // Runs the solution until the confidence interval of the steady-state median is as narrow as the options ask for, or
+  // until the time budget runs out.
+  public static BenchmarkResult benchmarkAdaptively(PlatformHandler handler, SolutionSpecifier thisSolution,
+                                                    BenchmarkOptions options, boolean keepRuntimes) throws Exception {
+    AdaptiveStopRule stopRule = new AdaptiveStopRule(options);
+    BenchmarkResult result = measure(handler, thisSolution, options.isolate() ? null : handler.resolveSolution(thisSolution),
+        new RuntimeRecorder(ADAPTIVE_INITIAL_CAPACITY, 0, keepRuntimes, CpuClock.isSupported(), ALLOCATION_COUNTER != null), Integer.MAX_VALUE, stopRule,
+        options.sink(), true);
+    printIterationLog(result);
+
+    if(!stopRule.wasChecked()) {
+      System.out.printf("Time budget ran out after %d iterations, before the steady-state median could be checked even once " +
+          "(target: ±%.2f%%). Consider a bigger --budget.\n", result.iterations(), options.precision()*100);
+    } else {
+      System.out.printf("%s after %d iterations: steady-state median is within ±%.2f%% at %.1f%% confidence (target: ±%.2f%%).\n",
+          stopRule.isTargetMet() ? "Precision target reached" : "Time budget ran out", result.iterations(),
+          stopRule.getAchievedPrecision()*100, options.confidence()*100, options.precision()*100);
+    }
+    return result;
+  }
+
+  /* Runs NoopSolution through the same handler and the same loop as the real solution: same input handling, same
+     kind of invoker, same I/O swaps and the same pair of nanoTime() calls. Its runtimes are the overhead the harness
+     adds to every measurement. Meant to be run after the real benchmark, so that the real benchmark's call site
+     profile isn't polluted by the no-op invoker. Every runtime is kept. Its (empty) output is captured like the real
+     solution's, but not checked. */
+  public static BenchmarkResult calibrate(PlatformHandler handler, SolutionSpecifier thisSolution) throws Exception {
+    return measure(handler, thisSolution, handler.bindMain(NoopSolution.class, thisSolution),
+        new RuntimeRecorder(CALIBRATION_ITERATIONS, CALIBRATION_ITERATIONS, true, CpuClock.isSupported(), ALLOCATION_COUNTER != null), CALIBRATION_ITERATIONS, null,
+        null, false);
+  }
+
+  /* The benchmark loop itself. Runs `iterations` times, or until stopRule (if there is one) says so, recording every
+     runtime into `recorder`.
+
+     If `solution` is null, every iteration loads the solution package anew with a SolutionClassLoader instead, so that
+     each run starts with fresh static fields, runs the static initializers as part of its timed region, and executes
+     code the JIT has never seen. Loading and binding happen before the timed region, like resetting the input.
+
+     Whatever the solution prints to stdout is captured (see OutputCapture) and checked after each timed region: against
+     the expected output of the test, if checkOutput is true and it has one, and against what the first run printed.
+     Normally that's all that happens to it, which leaves the cost of output out of the runtime. If `sinkKind` isn't
+     null, it's written to a realistic sink first (see OutputSink), which is flushed inside the timed region like
+     System.out is when the JVM exits, and the time spent writing to it is reported on its own. The sink passes the output
+     on to be checked from another thread or after the timed region, so the runtime doesn't include that copy either. */
+  private static BenchmarkResult measure(PlatformHandler handler, SolutionSpecifier thisSolution, SolutionInvoker solution,
+                                         RuntimeRecorder recorder, int iterations, AdaptiveStopRule stopRule,
+                                         String sinkKind, boolean checkOutput) throws Exception {
+    // Everything that allocates happens up here, before the first timed region (apart from loading isolated copies)
+    handler.loadInput(thisSolution);
+    OutputCapture capture = new OutputCapture(checkOutput ? handler.expectedOutput(thisSolution) : null);
+    CpuClock.Span cpuSpan = CpuClock.isSupported() ? new CpuClock.Span() : null;
+    OutputSink sink = sinkKind != null ? OutputSink.open(sinkKind, capture) : null;
+    int completed = 0;
+
+    // We're going to be swapping out all three standard streams of this thread in the near future. Other threads (e.g.
+    // other solutions running concurrently) keep theirs; see StdioMultiplexer.
+    InputStream originalIn = StdioMultiplexer.in();
+    PrintStream originalOut = StdioMultiplexer.out();
+    PrintStream originalErr = StdioMultiplexer.err();
+
+    try {
+      handler.passStdInput(); // Install stdin once; resetInput() rewinds it before each iteration
+
+      // Keep console output off the console to increase performance and (without a sink) ignore non-algorithmic runtime
+      StdioMultiplexer.setOut(sink != null ? sink.stream() : capture.stream());
+      StdioMultiplexer.setErr(NULL_SINK);
+
+      // Flight Recorder events are only allocated if something is recording them
+      final boolean emitEvents = BenchmarkEvents.enabled();
+      BenchmarkEvents.Phase phase = emitEvents ? BenchmarkEvents.phase(thisSolution, "warmup", 0) : null;
+      boolean warmupPhase = true;
+      if(phase != null) {
+        phase.begin();
+      }
+
+      final boolean isolateRuns = solution == null;
+      while(completed < iterations && !recorder.isFull()) { // Record execution time of each iteration
+        if(isolateRuns) {
+          solution = handler.resolveSolution(thisSolution, new SolutionClassLoader(handler.platformName()));
+        }
+        handler.resetInput(); // Give the solution pristine input without timing it
+        BenchmarkEvents.Iteration event = emitEvents ? BenchmarkEvents.iteration(thisSolution, completed) : null;
+
+        // The CPU, allocation and GC counters are read just outside of the timed region, so they don't add to the runtime.
+        // The CPU clock is read innermost, so that reading the others (or the event) doesn't add to the CPU time either.
+        if(event != null) {
+          event.begin();
+        }
+        long allocatedBefore = ALLOCATION_COUNTER != null ? ALLOCATION_COUNTER.getCurrentThreadAllocatedBytes() : 0;
+        long collectionsBefore = collectionCount();
+        long gcMillisBefore = collectionMillis();
+        if(cpuSpan != null) {
+          cpuSpan.start();
+        }
+        long tickStart = System.nanoTime(); // Begin timing
+        solution.invoke();
+        if(sink != null) {
+          sink.flush();
+        }
+        long tickEnd = System.nanoTime(); // End timing
+        long cpuTime = cpuSpan != null ? cpuSpan.stop() : 0;
+        long collectionsAfter = collectionCount();
+        long gcMillisAfter = collectionMillis();
+        long allocatedAfter = ALLOCATION_COUNTER != null ? ALLOCATION_COUNTER.getCurrentThreadAllocatedBytes() : 0;
+        if(event != null) {
+          event.end();
+        }
+        if(cpuSpan != null) {
+          cpuSpan.forgetDeadWorkers();
+        }
+
+        // Also checks for JIT activity and whether runtimes have settled
+        recorder.record(tickEnd - tickStart, cpuTime, allocatedAfter - allocatedBefore,
+            collectionsAfter != collectionsBefore ? gcMillisAfter - gcMillisBefore : GcActivity.NO_GC);
+        if(sink != null) {
+          sink.endRun(); // Also hands the rest of the run's output to `capture`
+        }
+        capture.endRun(); // Check this run's output
+        completed++;
+
+        if(event != null) {
+          event.runtime = tickEnd - tickStart;
+          event.commit();
+        }
+        if(phase != null && warmupPhase && recorder.isSteady()) { // Warmup just ended
+          warmupPhase = false;
+          phase.iterations = recorder.getWarmupIterations();
+          phase.commit();
+          phase = BenchmarkEvents.phase(thisSolution, "steady state", recorder.getWarmupIterations());
+          phase.begin();
+        }
+
+        if(stopRule != null && stopRule.shouldStop(recorder, tickEnd)) {
+          break;
+        }
+      }
+
+      if(phase != null) { // The steady state lasts until the end; a warmup that never ended does too
+        phase.iterations = completed - phase.firstIteration;
+        phase.commit();
+      }
+    } finally {
+      StdioMultiplexer.setIn(originalIn); // Restore console I/O for stats printing of this run
+      StdioMultiplexer.setOut(originalOut);
+      StdioMultiplexer.setErr(originalErr);
+      if(sink != null) {
+        sink.close();
+      }
+    }
+
+    return checkOutput ? recorder.toResult().withOutput(capture.verdict(), sink != null ? sink.timing() : null)
+                       : recorder.toResult();
+  }
+
+  // Number of collections every garbage collector has done so far. Collectors that can't tell count as 0.
+  private static long collectionCount() {
+    long count = 0;
+    for(GarbageCollectorMXBean collector : COLLECTORS) {
+      count += Math.max(0, collector.getCollectionCount());
+    }
+    return count;
+  }
+
+  // Time every garbage collector has spent collecting so far, in ms
+  private static long collectionMillis() {
+    long millis = 0;
+    for(GarbageCollectorMXBean collector : COLLECTORS) {
+      millis += Math.max(0, collector.getCollectionTime());
+    }
+    return millis;
+  }
+
+  // The JVM's per-thread allocation counter, switched on. Null if this JVM doesn't have one (it's a HotSpot extension)
+  // or won't turn it on.
+  private static com.sun.management.ThreadMXBean allocationCounter() {
+    if(!(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean threads)
+        || !threads.isThreadAllocatedMemorySupported()) {
+      return null;
+    }
+    try {
+      threads.setThreadAllocatedMemoryEnabled(true);
+    } catch(UnsupportedOperationException | SecurityException e) {
+      return null;
+    }
+    return threads.isThreadAllocatedMemoryEnabled() ? threads : null;
+  }
+
+  /* Prints the amount of time each iteration took to execute in both milliseconds and microseconds, as both may be
+     useful. This used to happen inside of the benchmark loop, which meant that a format string and a PrintStream got
+     allocated between every two timed regions; with millions of iterations those allocations caused GCs that landed
+     inside of the measurements. Now the lines are formatted into one reused buffer after the loop is done.
+     A marker line shows where the steady state began. If the runtimes weren't kept, there's nothing to print. */
+  private static void printIterationLog(BenchmarkResult result) throws IOException {
+    long[] execTimes = result.runtimes();
+    if(execTimes == null) {
+      System.out.println("(Per-iteration runtimes weren't kept; add S to the end of the argument to keep them and save them to a CSV.)");
+      return;
+    }
+
+    // The format string left-aligns the iteration number integer, then pads it to the max number of digits any iteration # will have.
+    String lineFormat = "Iteration %-" + Integer.toString(execTimes.length).length() + "d: %.3f ms / %.1f µs%s\n";
+
+    BufferedWriter out = new BufferedWriter(new OutputStreamWriter(System.out, System.out.charset()), 1 << 16);
+    StringBuilder line = new StringBuilder();
+    Formatter formatter = new Formatter(line);
+    for(int i = 0; i < execTimes.length; i++) {
+      if(i == result.warmupIterations()) {
+        out.append("--- Steady state reached: JIT compilation stopped and runtimes settled ---\n");
+      }
+
+      line.setLength(0);
+      String gcTag = result.gcTimes() == null || result.gcTimes()[i] == GcActivity.NO_GC ? ""
+          : " (GC: " + result.gcTimes()[i] + " ms)"; // Tag the iterations that a garbage collection overlapped
+      formatter.format(lineFormat, i + 1, UnitConverter.ns_ms(execTimes[i]), UnitConverter.ns_us(execTimes[i]), gcTag);
+      out.append(line);
+    }
+    out.flush(); // Not closed on purpose; that would close System.out
+  }
+}
@@ -0,0 +1,113 @@
+/*** BenchmarkEvents.java *****************************************************\
+ * Author:         twisted_nematic57                                          *
+ * Date Created:   2026-10-17                                                 *
+ * Description:    Defines the Flight Recorder events that benchmarks emit:   *
+ *                 one per timed iteration, and one per phase (warmup and     *
+ *                 steady state). Also starts the recordings that --jfr asks  *
+ *                 for, so that these events end up in one file with the      *
+ *                 JVM's own GC, JIT and safepoint events.                    *
+\******************************************************************************/
+
+import java.io.IOException;
+import java.text.ParseException;
+import jdk.jfr.Category;
+import jdk.jfr.Configuration;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Recording;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+public class BenchmarkEvents {
+  // The event brackets the timed region and the counter reads just around it; the runtime field holds the timed region's
+  // exact length.
+  @Name("solvekit.Iteration")
+  @Label("Benchmark Iteration")
+  @Category("SolveKit")
+  @Description("One timed call of the solution")
+  @StackTrace(false)
+  public static class Iteration extends Event {
+    @Label("Solution")
+    String solution;
+
+    @Label("Test")
+    int test;
+
+    @Label("Index")
+    @Description("0-based number of the iteration within its benchmark")
+    int index;
+
+    @Label("Runtime")
+    @Description("Runtime as measured by the benchmark, without the event's own overhead")
+    @Timespan(Timespan.NANOSECONDS)
+    long runtime;
+  }
+
+  /* Spans the iterations of one phase. The warmup phase ends when the steady state is detected, which is a few
+     iterations after the steady state actually began (see WarmupDetector); firstIteration and iterations are exact. */
+  @Name("solvekit.Phase")
+  @Label("Benchmark Phase")
+  @Category("SolveKit")
+  @Description("Warmup or steady-state phase of a benchmark")
+  @StackTrace(false)
+  public static class Phase extends Event {
+    @Label("Solution")
+    String solution;
+
+    @Label("Test")
+    int test;
+
+    @Label("Phase")
+    String phase;
+
+    @Label("First Iteration")
+    int firstIteration;
+
+    @Label("Iterations")
+    int iterations;
+  }
+
+  /* Whether events would be recorded right now. Events are only worth allocating while a recording that enables them
+     is running, whether it was started by --jfr or by -XX:StartFlightRecording. Flight Recorder stays initialized once
+     the first recording has ended, so that alone isn't enough; it's checked first so that asking doesn't set it up. */
+  public static boolean enabled() {
+    return FlightRecorder.isInitialized() && EventType.getEventType(Iteration.class).isEnabled();
+  }
+
+  public static Iteration iteration(SolutionSpecifier thisSolution, int index) {
+    Iteration event = new Iteration();
+    event.solution = thisSolution.name();
+    event.test = thisSolution.test();
+    event.index = index;
+    return event;
+  }
+
+  public static Phase phase(SolutionSpecifier thisSolution, String phase, int firstIteration) {
+    Phase event = new Phase();
+    event.solution = thisSolution.name();
+    event.test = thisSolution.test();
+    event.phase = phase;
+    event.firstIteration = firstIteration;
+    return event;
+  }
+
+  // Starts a recording with the JDK's "profile" settings (GC, JIT compilation, safepoints, allocation samples, ...)
+  // plus the events above. Stop it and dump it once the benchmark is over.
+  public static Recording startRecording() throws IOException {
+    Recording recording;
+    try {
+      recording = new Recording(Configuration.getConfiguration("profile"));
+    } catch(ParseException e) {
+      throw new IOException("The JDK's \"profile\" Flight Recorder settings couldn't be read", e);
+    }
+    recording.setName("SolveKit benchmark");
+    recording.enable(Iteration.class);
+    recording.enable(Phase.class);
+    recording.start();
+    return recording;
+  }
+}
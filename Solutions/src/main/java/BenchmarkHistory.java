@@ -0,0 +1,181 @@
+/*** BenchmarkHistory.java ****************************************************\
+ * Author:         twisted_nematic57                                          *
+ * Date Created:   2026-10-17                                                 *
+ * Description:    Keeps a history of benchmark results in the inputs         *
+ *                 directory: append-only segment files holding a summary of  *
+ *                 every benchmark, plus a small index that says which        *
+ *                 platform, solution, test and commit each summary belongs   *
+ *                 to and where it is.                                        *
+\******************************************************************************/
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+public class BenchmarkHistory {
+  /* Layout of the history directory:
+      - segment_NNNNN.bin: Entries, each one an int byte count followed by the entry (see write()). Only ever appended
+        to; once a segment grows past SEGMENT_SIZE, the next entry starts a new one.
+      - index.tsv: One line per entry: platform, solution, test #, commit, timestamp, segment #, offset. Queries filter
+        this file first and then only read the entries they need out of the segments. */
+  public static final Path DIRECTORY = Path.of(".solvekit-history"); // Relative to the inputs directory (the cwd)
+  private static final Path INDEX = DIRECTORY.resolve("index.tsv");
+  private static final long SEGMENT_SIZE = 1 << 20;
+  private static final int FORMAT_VERSION = 1; // Written at the start of every entry
+
+  // Summary of one benchmark. All times are in ns and describe the steady-state runs.
+  public record Entry(long timestamp, String platform, String solution, int test, String commit, String jvm,
+                      int runs, long median, long medianCI, long mean, long min, long p90, long p99, long max,
+                      long stddev) {
+    public static Entry of(long timestamp, String platform, SolutionSpecifier thisSolution, Statistics steady) {
+      return new Entry(timestamp, platform, thisSolution.name(), thisSolution.test(), currentCommit(),
+          System.getProperty("java.vm.name") + " " + System.getProperty("java.runtime.version"),
+          steady.getRuns(), steady.getMedian(), steady.getMedianCI(), steady.getMean(), steady.getMin(),
+          steady.getP90(), steady.getP99(), steady.getMax(), steady.getStddev());
+    }
+
+    // "{Platform}.{Specifier}-Z", like on the command line
+    public String key() {
+      return platform + "." + solution + "-" + test;
+    }
+  }
+
+  // Adds an entry to the history. Holds a lock on the index while doing so, so that two SolveKit processes that
+  // finish at the same time can't interleave their writes.
+  public static void append(Entry entry) throws IOException {
+    Files.createDirectories(DIRECTORY);
+    try(FileChannel index = FileChannel.open(INDEX, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+        StandardOpenOption.APPEND)) {
+      FileLock lock = index.lock();
+      try {
+        int segment = latestSegment();
+        if(segment < 0 || Files.size(segmentPath(segment)) >= SEGMENT_SIZE) {
+          segment++;
+        }
+
+        byte[] record = serialize(entry);
+        long offset;
+        try(FileChannel data = FileChannel.open(segmentPath(segment), StandardOpenOption.CREATE,
+            StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+          offset = data.size();
+          ByteBuffer buffer = ByteBuffer.allocate(4 + record.length).putInt(record.length).put(record).flip();
+          while(buffer.hasRemaining()) {
+            data.write(buffer);
+          }
+          data.force(false); // The entry must be on disk before the index points at it
+        }
+
+        String line = String.join("\t", entry.platform(), entry.solution(), Integer.toString(entry.test()),
+            entry.commit(), Long.toString(entry.timestamp()), Integer.toString(segment), Long.toString(offset)) + "\n";
+        ByteBuffer buffer = ByteBuffer.wrap(line.getBytes(StandardCharsets.UTF_8));
+        while(buffer.hasRemaining()) {
+          index.write(buffer);
+        }
+      } finally {
+        lock.release();
+      }
+    }
+  }
+
+  /* Returns the entries of every solution whose "{Platform}.{Specifier}-Z" key starts with `prefix` (so "" matches
+     everything, "AtCoder." matches a platform and "AtCoder.ABC424A-" matches every test of one solution), oldest
+     first. Only the index and the matching entries are read. */
+  public static List<Entry> query(String prefix) throws IOException {
+    List<Entry> entries = new ArrayList<>();
+    if(!Files.exists(INDEX)) {
+      return entries;
+    }
+
+    for(String line : Files.readAllLines(INDEX, StandardCharsets.UTF_8)) {
+      String[] fields = line.split("\t");
+      if(fields.length != 7 || !(fields[0] + "." + fields[1] + "-" + fields[2]).startsWith(prefix)) {
+        continue;
+      }
+      entries.add(read(Integer.parseInt(fields[5]), Long.parseLong(fields[6])));
+    }
+    entries.sort((a, b) -> Long.compare(a.timestamp(), b.timestamp()));
+    return entries;
+  }
+
+  private static Entry read(int segment, long offset) throws IOException {
+    try(FileChannel data = FileChannel.open(segmentPath(segment), StandardOpenOption.READ)) {
+      data.position(offset);
+      InputStream in = Channels.newInputStream(data);
+      DataInputStream entry = new DataInputStream(in);
+      entry.readInt(); // Byte count; only needed by tools that scan segments without the index
+      int version = entry.readInt();
+      if(version != FORMAT_VERSION) {
+        throw new IOException("History entry in segment " + segment + " has unknown format version " + version);
+      }
+      return new Entry(entry.readLong(), entry.readUTF(), entry.readUTF(), entry.readInt(), entry.readUTF(),
+          entry.readUTF(), entry.readInt(), entry.readLong(), entry.readLong(), entry.readLong(), entry.readLong(),
+          entry.readLong(), entry.readLong(), entry.readLong(), entry.readLong());
+    }
+  }
+
+  private static byte[] serialize(Entry entry) throws IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+    DataOutputStream out = new DataOutputStream(bytes);
+    out.writeInt(FORMAT_VERSION);
+    out.writeLong(entry.timestamp());
+    out.writeUTF(entry.platform());
+    out.writeUTF(entry.solution());
+    out.writeInt(entry.test());
+    out.writeUTF(entry.commit());
+    out.writeUTF(entry.jvm());
+    out.writeInt(entry.runs());
+    for(long value : new long[] {entry.median(), entry.medianCI(), entry.mean(), entry.min(), entry.p90(),
+        entry.p99(), entry.max(), entry.stddev()}) {
+      out.writeLong(value);
+    }
+    out.flush();
+    return bytes.toByteArray();
+  }
+
+  // Number of the newest segment, or -1 if there are none yet
+  private static int latestSegment() throws IOException {
+    int latest = -1;
+    try(var files = Files.list(DIRECTORY)) {
+      for(Path file : (Iterable<Path>)files::iterator) {
+        String name = file.getFileName().toString();
+        if(name.startsWith("segment_") && name.endsWith(".bin")) {
+          latest = Math.max(latest, Integer.parseInt(name.substring(8, name.length() - 4)));
+        }
+      }
+    }
+    return latest;
+  }
+
+  private static Path segmentPath(int segment) {
+    return DIRECTORY.resolve(String.format("segment_%05d.bin", segment));
+  }
+
+  // Short hash of the git commit that's checked out, or "-" if that can't be found out (e.g. git isn't installed).
+  private static String currentCommit() {
+    try {
+      Process git = new ProcessBuilder("git", "rev-parse", "--short", "HEAD").redirectErrorStream(true).start();
+      String output = new String(git.getInputStream().readAllBytes(), StandardCharsets.UTF_8).trim();
+      if(git.waitFor(5, TimeUnit.SECONDS) && git.exitValue() == 0 && !output.isEmpty()) {
+        return output;
+      }
+    } catch(IOException e) {
+      // Falls through to the default below
+    } catch(InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    return "-";
+  }
+}
@@ -0,0 +1,133 @@
+/*** BenchmarkOptions.java ****************************************************\
+ * Author:         twisted_nematic57                                          *
+ * Date Created:   2026-10-17                                                 *
+ * Description:    Defines a record that holds the optional settings of a     *
+ *                 benchmark, which are passed to SolveKit as extra command   *
+ *                 line arguments after the solution specifier.               *
+\******************************************************************************/
+
+// precision:  Adaptive mode only. Target half-width of the confidence interval of the steady-state median, as a
+//             fraction of the median (0.01 == "median ±1%").
+// confidence: Adaptive mode only. Confidence level of that interval (0.95 == 95%).
+// budgetNanos: Adaptive mode only. Wall-clock time after which the benchmark stops even if the target wasn't reached.
+// forks:      Number of child JVMs to run the benchmark in, one after another. 0 runs it in this JVM.
+// calibrate:  Whether to measure the harness overhead with a no-op solution and report overhead-subtracted figures.
+// binaryResults: Whether S saves the runtimes in the binary format instead of as a CSV (see ResultsFile).
+// jfr:        Whether to record the benchmark with Flight Recorder and dump the recording next to the results file.
+// isolate:    Whether every run gets a freshly loaded copy of the solution, with fresh static fields (see
+//             SolutionClassLoader). Measures cold runs instead of the usual warmup and steady state.
+// sink:       Where stdout goes while benchmarking: OutputSink.PIPE or OutputSink.FILE, which count the cost of output
+//             like a judge does and report it separately. Null throws the output away, so it costs (almost) nothing.
+public record BenchmarkOptions(double precision, double confidence, long budgetNanos, int forks, boolean calibrate,
+                               boolean binaryResults, boolean jfr, boolean isolate, String sink) {
+  public static BenchmarkOptions defaults() {
+    return new BenchmarkOptions(0.01, 0.95, 60_000_000_000L, 0, false, false, false, false, null);
+  }
+
+  // Parses options that look like "--name=value" or "--flag". Supported options:
+  //  * --precision=1%    (or 0.01)
+  //  * --confidence=95%  (or 0.95)
+  //  * --budget=60s      (units: ms, s, m; a bare number is seconds)
+  //  * --forks=5
+  //  * --calibrate
+  //  * --format=csv      (or binary)
+  //  * --jfr
+  //  * --isolate
+  //  * --sink=pipe       (or file, or null)
+  public static BenchmarkOptions parse(String[] args) {
+    BenchmarkOptions defaults = defaults();
+    double precision = defaults.precision;
+    double confidence = defaults.confidence;
+    long budgetNanos = defaults.budgetNanos;
+    int forks = defaults.forks;
+    boolean calibrate = defaults.calibrate;
+    boolean binaryResults = defaults.binaryResults;
+    boolean jfr = defaults.jfr;
+    boolean isolate = defaults.isolate;
+    String sink = defaults.sink;
+
+    for(String arg : args) {
+      if(!arg.startsWith("--")) {
+        throw new IllegalSpecifierException("Unrecognized option \"" + arg + "\". Options must look like --name=value or --flag.");
+      }
+      String name = arg.contains("=") ? arg.substring(2, arg.indexOf("=")) : arg.substring(2);
+      String value = arg.contains("=") ? arg.substring(arg.indexOf("=") + 1) : "";
+
+      switch(name) {
+        case "precision" -> precision = parseFraction(name, value);
+        case "confidence" -> confidence = parseFraction(name, value);
+        case "budget" -> budgetNanos = parseDuration(name, value);
+        case "forks" -> forks = parseCount(name, value);
+        case "calibrate" -> calibrate = true;
+        case "jfr" -> jfr = true;
+        case "isolate" -> isolate = true;
+        case "format" -> binaryResults = switch(value) {
+          case "csv" -> false;
+          case "binary" -> true;
+          default -> throw new IllegalSpecifierException("Invalid value for --format: \"" + value + "\" (must be csv or binary)");
+        };
+        case "sink" -> sink = switch(value) {
+          case OutputSink.PIPE, OutputSink.FILE -> value;
+          case "null" -> null;
+          default -> throw new IllegalSpecifierException("Invalid value for --sink: \"" + value + "\" (must be pipe, file or null)");
+        };
+        default -> throw new IllegalSpecifierException("Unknown option \"--" + name + "\".");
+      }
+    }
+
+    if(precision <= 0 || confidence <= 0 || confidence >= 1 || budgetNanos <= 0) {
+      throw new IllegalSpecifierException("--precision and --budget must be > 0, and --confidence must be in (0%, 100%).");
+    }
+    if(calibrate && forks > 0) {
+      throw new IllegalSpecifierException("--calibrate can't be combined with --forks.");
+    }
+    if(isolate && forks > 0) { // Every fork loads the solution anew anyway
+      throw new IllegalSpecifierException("--isolate can't be combined with --forks.");
+    }
+    if(sink != null && forks > 0) { // Forks only pass their runtimes back
+      throw new IllegalSpecifierException("--sink can't be combined with --forks.");
+    }
+    return new BenchmarkOptions(precision, confidence, budgetNanos, forks, calibrate, binaryResults, jfr, isolate, sink);
+  }
+
+  // Non-negative integer
+  private static int parseCount(String name, String value) {
+    try {
+      int count = Integer.parseInt(value);
+      if(count >= 0) {
+        return count;
+      }
+    } catch(NumberFormatException e) {
+      // Falls through to the exception below
+    }
+    throw new IllegalSpecifierException("Invalid value for --" + name + ": \"" + value + "\" (must be an integer >= 0)");
+  }
+
+  // "1%" -> 0.01, "0.01" -> 0.01
+  private static double parseFraction(String name, String value) {
+    try {
+      if(value.endsWith("%")) {
+        return Double.parseDouble(value.substring(0, value.length()-1)) / 100;
+      }
+      return Double.parseDouble(value);
+    } catch(NumberFormatException e) {
+      throw new IllegalSpecifierException("Invalid value for --" + name + ": \"" + value + "\"");
+    }
+  }
+
+  // "500ms", "60s", "2m" or "60" -> ns
+  private static long parseDuration(String name, String value) {
+    try {
+      if(value.endsWith("ms")) {
+        return (long)(Double.parseDouble(value.substring(0, value.length()-2)) * 1_000_000L);
+      } else if(value.endsWith("s")) {
+        return (long)(Double.parseDouble(value.substring(0, value.length()-1)) * 1_000_000_000L);
+      } else if(value.endsWith("m")) {
+        return (long)(Double.parseDouble(value.substring(0, value.length()-1)) * 60_000_000_000L);
+      }
+      return (long)(Double.parseDouble(value) * 1_000_000_000L);
+    } catch(NumberFormatException e) {
+      throw new IllegalSpecifierException("Invalid value for --" + name + ": \"" + value + "\"");
+    }
+  }
+}
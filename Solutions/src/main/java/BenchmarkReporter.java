@@ -2,102 +2,485 @@
  * Author:         twisted_nematic57                                          *
  * Date Created:   2025-12-22                                                 *
  * Description:    Displays a table of statistics. Designed to be used with   *
- *                 benchmarking data. Also implements support for saving      *
- *                 data to a CSV file if requested.                           *
+ *                 benchmarking data. Also shows how two benchmarks compare,  *
+ *                 and the benchmark history of solutions.                    *
 \******************************************************************************/
 
-import java.io.RandomAccessFile;
-import java.nio.channels.FileChannel;
-import java.nio.channels.FileLock;
-import java.nio.channels.OverlappingFileLockException;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
 
 public class BenchmarkReporter {
-  public static void showBenchmarkResults(Statistics all, Statistics last80p) {
-    // all contains statistical variables for all runs, and last80p contains those for the last 80% of runs.
-    
+  private static final String BORDER = "+-------------------------------------------------+-------------------------------------------------+";
+  private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm").withZone(ZoneId.systemDefault());
+
+  public static void showBenchmarkResults(BenchmarkResult result, Statistics warmup, Statistics steady) {
+    // warmup contains statistical variables for the runs before the JVM reached a steady state, and steady contains
+    // those for the runs after that. If no steady state was detected, the split is somewhere else (see
+    // BenchmarkResult.steadyStateStart()). The CPU time and bytes allocated per run and the GC activity of both sections
+    // come from `result`; their rows are left out if they weren't tracked. So does the verdict on the solution's output.
+
     /* Expected datatypes & formats before printing begins:
      - Runs:      int, unitless
-     - Mean:      long, nanoseconds
+     - Mean:      long, nanoseconds (± half-width of its confidence interval, also long)
      - Min:       long, nanoseconds
      - Q1:        long, nanoseconds
      - Median:    long, nanoseconds
      - Q3:        long, nanoseconds
+    Q1, median and Q3 come with confidence intervals too. A value and its half-width always get the same number of
+    decimals (see withCI()), so the X.X in the mockup below can be X.XX or X.XXX for narrow intervals.
+     - P90:       long, nanoseconds
+     - P99:       long, nanoseconds
+     - P99.9:     long, nanoseconds
      - Max:       long, nanoseconds
      - Stddev:    long, nanoseconds
-     - Σ(time):   Apint, nanoseconds
+     - Σ(time):   long, nanoseconds
     Time sums are accompanied by sets of four ints representing hours, minutes, seconds and milliseconds.
     Individual time sum components are labeled with _h, _m, _s, and _ms respectively.
-    All of the above are repeated once again for the last 80% of runs.
+     - CPU mean:  long, nanoseconds of CPU time per run (the solution's thread plus common pool workers)
+     - CPU med:   long, nanoseconds of CPU time per run
+     - CPU/wall:  double, Σ(CPU time) / Σ(time); above 1 for parallel solutions, below 1 if the thread had to wait
+     - Alloc avg: long, bytes allocated per run
+     - Alloc med: long, bytes allocated per run
+     - Alloc max: long, bytes allocated per run
+    All of the above are repeated once again for the steady-state runs.
    
     Conversions:
     Nanosecond -> Microsecond: *.001
     Nanosecond -> Millisecond: *.000001
     Nanosecond -> Second     : *.000000001
+    Byte       -> KiB        : /1024.0
    
     The goal is to have benchmark stats be printed in this pretty and predictable format:
     +-------------------------------------------------+-------------------------------------------------+
-    | Benchmark results (runtime, all runs):          | Benchmark results (runtime, last 80% of runs):  |
+    | Warmup (runs 1-K):                              | Steady state (runs K+1-N):                      |
     |  * Runs     : X[...]                            |  * Runs     : X[...]                            |
-    |  * Mean     : XXXXXXX.XXX ms / XXXXXXXXXX.X μs  |  * Mean     : XXXXXXX.XXX ms / XXXXXXXXXX.X μs  |
+    |  * Mean     : XXXXXXX.XXX ms / XXXXX.X ±XXX.X μs|  * Mean     : XXXXXXX.XXX ms / XXXXX.X ±XXX.X μs|
     |-------------------------------------------------+-------------------------------------------------|
     |  * Min      : XXXXXXX.XXX ms / XXXXXXXXXX.X μs  |  * Min      : XXXXXXX.XXX ms / XXXXXXXXXX.X μs  |
-    |  * Q1       : XXXXXXX.XXX ms / XXXXXXXXXX.X μs  |  * Q1       : XXXXXXX.XXX ms / XXXXXXXXXX.X μs  |
-    |  * Median   : XXXXXXX.XXX ms / XXXXXXXXXX.X μs  |  * Median   : XXXXXXX.XXX ms / XXXXXXXXXX.X μs  |
-    |  * Q3       : XXXXXXX.XXX ms / XXXXXXXXXX.X μs  |  * Q3       : XXXXXXX.XXX ms / XXXXXXXXXX.X μs  |
+    |  * Q1       : XXXXXXX.XXX ms / XXXXX.X ±XXX.X μs|  * Q1       : XXXXXXX.XXX ms / XXXXX.X ±XXX.X μs|
+    |  * Median   : XXXXXXX.XXX ms / XXXXX.X ±XXX.X μs|  * Median   : XXXXXXX.XXX ms / XXXXX.X ±XXX.X μs|
+    |  * Q3       : XXXXXXX.XXX ms / XXXXX.X ±XXX.X μs|  * Q3       : XXXXXXX.XXX ms / XXXXX.X ±XXX.X μs|
+    |  * P90      : XXXXXXX.XXX ms / XXXXXXXXXX.X μs  |  * P90      : XXXXXXX.XXX ms / XXXXXXXXXX.X μs  |
+    |  * P99      : XXXXXXX.XXX ms / XXXXXXXXXX.X μs  |  * P99      : XXXXXXX.XXX ms / XXXXXXXXXX.X μs  |
+    |  * P99.9    : XXXXXXX.XXX ms / XXXXXXXXXX.X μs  |  * P99.9    : XXXXXXX.XXX ms / XXXXXXXXXX.X μs  |
     |  * Max      : XXXXXXX.XXX ms / XXXXXXXXXX.X μs  |  * Max      : XXXXXXX.XXX ms / XXXXXXXXXX.X μs  |
     |  * Stddev[σ]: XXXXXXX.XXX ms / XXXXXXXXXX.X μs  |  * Stddev[σ]: XXXXXXX.XXX ms / XXXXXXXXXX.X μs  |
     |  * Σ(time)  : XXXXXXX.XXX  s /  HHHH:MM:SS.III  |  * Σ(time)  : XXXXXXX.XXX  s /  HHHH:MM:SS.III  |
+    |-------------------------------------------------+-------------------------------------------------|
+    |  * CPU mean : XXXXXXX.XXX ms / XXXXXXXXXX.X μs  |  * CPU mean : XXXXXXX.XXX ms / XXXXXXXXXX.X μs  |
+    |  * CPU med  : XXXXXXX.XXX ms / XXXXXXXXXX.X μs  |  * CPU med  : XXXXXXX.XXX ms / XXXXXXXXXX.X μs  |
+    |  * CPU/wall : X.XXX                             |  * CPU/wall : X.XXX                             |
+    |-------------------------------------------------+-------------------------------------------------|
+    |  * Alloc avg: XXXXXXXXXXXXXX B / XXXXXXXXX.X KiB|  * Alloc avg: XXXXXXXXXXXXXX B / XXXXXXXXX.X KiB|
+    |  * Alloc med: XXXXXXXXXXXXXX B / XXXXXXXXX.X KiB|  * Alloc med: XXXXXXXXXXXXXX B / XXXXXXXXX.X KiB|
+    |  * Alloc max: XXXXXXXXXXXXXX B / XXXXXXXXX.X KiB|  * Alloc max: XXXXXXXXXXXXXX B / XXXXXXXXX.X KiB|
+    | ± values are 95% bootstrap confidence intervals (2000 resamples).                                 |
+    |-------------------------------------------------+-------------------------------------------------|
+    |  * GC hits  : X[...] runs (XX.XX%)              |  * GC hits  : X[...] runs (XX.XX%)              |
+    |  * GC time  : X[...] ms (XX.X% of Σ(time))      |  * GC time  : X[...] ms (XX.X% of Σ(time))      |
+    | Runs without GC:                                | Runs without GC:                                |
+    |  * Mean     : XXXXXXX.XXX ms / XXXXXXXXXX.X μs  |  * Mean     : XXXXXXX.XXX ms / XXXXXXXXXX.X μs  |
+    |  * Median   : XXXXXXX.XXX ms / XXXXXXXXXX.X μs  |  * Median   : XXXXXXX.XXX ms / XXXXXXXXXX.X μs  |
+    |  * Max      : XXXXXXX.XXX ms / XXXXXXXXXX.X μs  |  * Max      : XXXXXXX.XXX ms / XXXXXXXXXX.X μs  |
+    |  * Stddev[σ]: XXXXXXX.XXX ms / XXXXXXXXXX.X μs  |  * Stddev[σ]: XXXXXXX.XXX ms / XXXXXXXXXX.X μs  |
+    |-------------------------------------------------+-------------------------------------------------|
+    | Stdout to a pipe/tmpfs file (mean per run):     | Stdout to a pipe/tmpfs file (mean per run):     |
+    |  * Out bytes: XXXXXXXXXXXXXX B / XXXXXXXXX.X KiB|  * Out bytes: XXXXXXXXXXXXXX B / XXXXXXXXX.X KiB|
+    |  * Out time : XXXXXXX.XXX ms / XXXXXXXXXX.X μs  |  * Out time : XXXXXXX.XXX ms / XXXXXXXXXX.X μs  |
+    |  * Out share: XX.X% of Σ(time)                  |  * Out share: XX.X% of Σ(time)                  |
+    |  * Compute  : XXXXXXX.XXX ms / XXXXXXXXXX.X μs  |  * Compute  : XXXXXXX.XXX ms / XXXXXXXXXX.X μs  |
+    |-------------------------------------------------+-------------------------------------------------|
+    | Output     : AC/WA (where it first differed from o_{Specifier}_Z.txt)                             |
+    | Determinism: X[...] of X[...] runs printed something else than the first (first: run #X[...])     |
     +-------------------------------------------------+-------------------------------------------------+
+    The GC rows are replaced by a single line if no collection overlapped any run. The stdout rows are only there if the
+    output went to a realistic sink (--sink).
     */
 
+    final boolean steadyStateDetected = result.reachedSteadyState();
+
+    final String leftTitle;
+    final String rightTitle;
+    if(steadyStateDetected) {
+      leftTitle = "Warmup (runs 1-" + warmup.getRuns() + "):";
+      rightTitle = "Steady state (runs " + (warmup.getRuns()+1) + "-" + (warmup.getRuns()+steady.getRuns()) + "):";
+    } else {
+      leftTitle = "Runs 1-" + warmup.getRuns() + " (no steady state found):";
+      rightTitle = steady.getRuns() == 0 ? "No runs after the latest JIT activity:" // Its rows are all 0s
+          : "Runs " + (warmup.getRuns()+1) + "-" + (warmup.getRuns()+steady.getRuns()) + ":";
+    }
+
+    printTable(leftTitle, warmup, rightTitle, steady, result.warmupCpuStatistics(), result.steadyCpuStatistics(),
+        result.warmupAllocationStatistics(), result.steadyAllocationStatistics());
+    if(result.gcTracked()) {
+      printGcRows(warmup, result.warmupGcActivity(), result.warmupGcFreeStatistics(),
+          steady, result.steadyGcActivity(), result.steadyGcFreeStatistics());
+    }
+    if(result.outputTiming() != null) {
+      int start = result.steadyStateStart();
+      printSinkRows(result.outputTiming(), warmup, 0, start, steady, start, result.iterations());
+    }
+    if(result.output() != null) {
+      printOutputRows(result.output());
+    }
+    System.out.println(BORDER);
+  }
+
+  /* Prints how much each section's runs wrote to the sink on average, how long that took, and what's left of their
+     mean runtime without it. Neither figure includes copying the output for the AC/WA check (see OutputSink). `left`
+     covers runs leftFrom (inclusive) to leftTo (exclusive), and likewise for `right`. */
+  private static void printSinkRows(OutputTiming timing, Statistics left, int leftFrom, int leftTo,
+                                    Statistics right, int rightFrom, int rightTo) {
+    String title = "Stdout to a " + (timing.sink().equals(OutputSink.PIPE) ? "pipe" : "tmpfs file") + " (mean per run):";
+    long leftBytes = timing.meanBytes(leftFrom, leftTo);
+    long rightBytes = timing.meanBytes(rightFrom, rightTo);
+    long leftTime = timing.meanTime(leftFrom, leftTo);
+    long rightTime = timing.meanTime(rightFrom, rightTo);
+    System.out.println("|-------------------------------------------------+-------------------------------------------------|");
+    System.out.printf ("| %-48s| %-48s|\n", title, title);
+    System.out.printf ("|  * Out bytes: %-14d B / %-11.1f KiB|  * Out bytes: %-14d B / %-11.1f KiB|\n", leftBytes, leftBytes/1024.0, rightBytes, rightBytes/1024.0);
+    System.out.printf ("|  * Out time : %-11.3f ms / %-12.1f µs  |  * Out time : %-11.3f ms / %-12.1f µs  |\n", UnitConverter.ns_ms(leftTime), UnitConverter.ns_us(leftTime), UnitConverter.ns_ms(rightTime), UnitConverter.ns_us(rightTime));
+    System.out.printf ("|  * Out share: %-32s  |  * Out share: %-32s  |\n", outShare(left, timing.timeSum(leftFrom, leftTo)), outShare(right, timing.timeSum(rightFrom, rightTo)));
+    System.out.printf ("|  * Compute  : %-11.3f ms / %-12.1f µs  |  * Compute  : %-11.3f ms / %-12.1f µs  |\n", UnitConverter.ns_ms(left.getMean() - leftTime), UnitConverter.ns_us(left.getMean() - leftTime), UnitConverter.ns_ms(right.getMean() - rightTime), UnitConverter.ns_us(right.getMean() - rightTime));
+    System.out.printf ("| %-98s|\n", "Compute = runtime - out time. The AC/WA check's output copy is made " +
+        (timing.sink().equals(OutputSink.PIPE) ? "by the pipe's reader thread." : "after each run."));
+  }
+
+  private static String outShare(Statistics section, long outputNanos) {
+    return String.format("%.1f%% of Σ(time)", section.getTimeSum() == 0 ? 0 : 100.0*outputNanos / section.getTimeSum());
+  }
+
+  // Prints whether the first run printed the expected output, and whether every other run printed the same thing
+  private static void printOutputRows(OutputVerdict output) {
+    System.out.println("|-------------------------------------------------+-------------------------------------------------|");
+    System.out.printf ("| %-98s|\n", "Output     : " + (!output.checked() ? "not checked (no expected output file)"
+        : output.accepted() ? "AC" : "WA (" + output.mismatch() + ")"));
+    System.out.printf ("| %-98s|\n", "Determinism: " + (output.nondeterministicRuns() == 0
+        ? "every run printed the same output"
+        : String.format("%d of %d runs printed something else than the first (first: run #%d)",
+            output.nondeterministicRuns(), output.runs(), output.firstNondeterministicRun())));
+  }
+
+  /* Prints how many runs of each section a garbage collection overlapped and how much GC time that was, relative to
+     the section's Σ(time), followed by statistics about the runs that no collection overlapped. GC time is only
+     reported in whole ms per collection, so it's rough for short runs. */
+  private static void printGcRows(Statistics left, GcActivity leftGc, Statistics leftGcFree,
+                                  Statistics right, GcActivity rightGc, Statistics rightGcFree) {
+    System.out.println("|-------------------------------------------------+-------------------------------------------------|");
+    if(leftGc.getHits() == 0 && rightGc.getHits() == 0) {
+      System.out.printf ("| %-98s|\n", "No garbage collection overlapped any of the timed runs.");
+      return;
+    }
+
+    System.out.printf ("|  * GC hits  : %-32s  |  * GC hits  : %-32s  |\n", gcHits(leftGc), gcHits(rightGc));
+    System.out.printf ("|  * GC time  : %-32s  |  * GC time  : %-32s  |\n", gcTime(left, leftGc), gcTime(right, rightGc));
+    System.out.printf ("| %-48s| %-48s|\n", "Runs without GC:", "Runs without GC:");
+    System.out.printf ("|  * Mean     : %-11.3f ms / %-12.1f µs  |  * Mean     : %-11.3f ms / %-12.1f µs  |\n", UnitConverter.ns_ms(leftGcFree.getMean()), UnitConverter.ns_us(leftGcFree.getMean()), UnitConverter.ns_ms(rightGcFree.getMean()), UnitConverter.ns_us(rightGcFree.getMean()));
+    System.out.printf ("|  * Median   : %-11.3f ms / %-12.1f µs  |  * Median   : %-11.3f ms / %-12.1f µs  |\n", UnitConverter.ns_ms(leftGcFree.getMedian()), UnitConverter.ns_us(leftGcFree.getMedian()), UnitConverter.ns_ms(rightGcFree.getMedian()), UnitConverter.ns_us(rightGcFree.getMedian()));
+    System.out.printf ("|  * Max      : %-11.3f ms / %-12.1f µs  |  * Max      : %-11.3f ms / %-12.1f µs  |\n", UnitConverter.ns_ms(leftGcFree.getMax()), UnitConverter.ns_us(leftGcFree.getMax()), UnitConverter.ns_ms(rightGcFree.getMax()), UnitConverter.ns_us(rightGcFree.getMax()));
+    System.out.printf ("|  * Stddev[σ]: %-11.3f ms / %-12.1f µs  |  * Stddev[σ]: %-11.3f ms / %-12.1f µs  |\n", UnitConverter.ns_ms(leftGcFree.getStddev()), UnitConverter.ns_us(leftGcFree.getStddev()), UnitConverter.ns_ms(rightGcFree.getStddev()), UnitConverter.ns_us(rightGcFree.getStddev()));
+  }
+
+  private static String gcHits(GcActivity gc) {
+    return String.format("%d runs (%.2f%%)", gc.getHits(), gc.getRuns() == 0 ? 0 : 100.0*gc.getHits()/gc.getRuns());
+  }
+
+  private static String gcTime(Statistics section, GcActivity gc) {
+    double share = section.getTimeSum() == 0 ? 0 : 100.0*gc.getGcMillis()*1_000_000 / section.getTimeSum();
+    return String.format("%d ms (%.1f%% of Σ(time))", gc.getGcMillis(), share);
+  }
+
+  /* Shows the results of a forked benchmark. The left column describes the first invocation in each fork (i.e. cold
+     start latency), and the right column describes the steady-state runs of all forks pooled together (`pooled`, see
+     BenchmarkResult.pooledSteadyRuntimes()), along with the CPU time and bytes those runs used if the forks tracked them.
+     Below those, the variance of steady-state runtimes is split into the part that comes from noise within a fork and the part
+     that comes from differences between forks (JIT decisions, memory layout, etc.). */
+  public static void showForkResults(BenchmarkResult[] forks, Statistics pooled) {
+    long[] cold = new long[forks.length];
+    Statistics[] perFork = new Statistics[forks.length];
+    for(int i = 0; i < forks.length; i++) {
+      long[] runtimes = forks[i].runtimes();
+      cold[i] = runtimes[0];
+      perFork[i] = new Statistics(Arrays.copyOfRange(runtimes, forks[i].steadyStateStart(), runtimes.length));
+    }
+
+    Statistics coldCpu = null;
+    Statistics pooledCpu = null;
+    long[] pooledSteadyCpuTimes = BenchmarkResult.pooledSteadyCpuTimes(forks);
+    if(pooledSteadyCpuTimes != null) {
+      long[] coldCpuTimes = new long[forks.length];
+      for(int i = 0; i < forks.length; i++) {
+        coldCpuTimes[i] = forks[i].cpuTimes()[0];
+      }
+      coldCpu = new Statistics(coldCpuTimes);
+      pooledCpu = new Statistics(pooledSteadyCpuTimes);
+    }
+
+    Statistics coldAllocations = null;
+    Statistics pooledAllocations = null;
+    long[] pooledSteadyAllocations = BenchmarkResult.pooledSteadyAllocations(forks);
+    if(pooledSteadyAllocations != null) {
+      long[] coldAllocated = new long[forks.length];
+      for(int i = 0; i < forks.length; i++) {
+        coldAllocated[i] = forks[i].allocations()[0];
+      }
+      coldAllocations = new Statistics(coldAllocated);
+      pooledAllocations = new Statistics(pooledSteadyAllocations);
+    }
+
+    // Within-fork variance: mean of each fork's variance. Between-fork variance: variance of the forks' means.
+    double withinVariance = 0;
+    double grandMean = 0;
+    for(Statistics fork : perFork) {
+      withinVariance += (double)fork.getStddev()*fork.getStddev() / forks.length;
+      grandMean += (double)fork.getMean() / forks.length;
+    }
+    double betweenVariance = 0;
+    for(Statistics fork : perFork) {
+      betweenVariance += (fork.getMean() - grandMean)*(fork.getMean() - grandMean) / forks.length;
+    }
+    long withinStddev = (long)Math.sqrt(withinVariance);
+    long betweenStddev = (long)Math.sqrt(betweenVariance);
+    double betweenShare = withinVariance + betweenVariance == 0 ? 0 : betweenVariance / (withinVariance + betweenVariance);
+
+    printTable("First invocation (cold, " + forks.length + " forks):", new Statistics(cold),
+        "Steady state (all forks pooled):", pooled, coldCpu, pooledCpu, coldAllocations, pooledAllocations);
+    System.out.println("|-------------------------------------------------+-------------------------------------------------|");
+    System.out.printf ("|  * σ within : %-11.3f ms / %-12.1f µs  |  * σ between: %-11.3f ms / %-12.1f µs  |\n", UnitConverter.ns_ms(withinStddev), UnitConverter.ns_us(withinStddev), UnitConverter.ns_ms(betweenStddev), UnitConverter.ns_us(betweenStddev));
+    System.out.printf ("| %-98s|\n", String.format("Share of steady-state variance caused by differences between forks: %.1f%%", betweenShare*100));
+    System.out.println(BORDER);
+  }
+
+  /* Shows the same table as showBenchmarkResults(), but with the harness overhead taken off of every runtime. The
+     overhead is the steady-state median runtime of a no-op solution that ran through the same handler path. Its error
+     bound is the spread of the no-op's runtimes: 95% of them are expected to lie within it, going by their median
+     absolute deviation. The confidence intervals of the subtracted figures are widened by that bound, since they're
+     only as accurate as the overhead that was taken off. */
+  public static void showOverheadSubtractedResults(Statistics warmup, Statistics steady, boolean steadyStateDetected,
+                                                   BenchmarkResult calibration) {
+    // All of the no-op's runtimes count if the JIT was still busy during its last run
+    int start = calibration.steadyStateStart() < calibration.runtimes().length ? calibration.steadyStateStart() : 0;
+    long[] noop = Arrays.copyOfRange(calibration.runtimes(), start, calibration.runtimes().length);
+    Arrays.sort(noop);
+    long overhead = noop[noop.length / 2];
+    double errorBound = Statistics.normalQuantile(0.975) * Statistics.robustStddev(noop);
+
+    System.out.printf("\nHarness overhead (median runtime of a no-op solution over %d runs): %d ns ± %.1f ns " +
+        "(95%% of runs)\n", noop.length, overhead, errorBound);
+
+    final String bound = String.format(" (± %.1f ns)", errorBound);
+    final String leftTitle;
+    final String rightTitle;
+    if(steadyStateDetected) {
+      leftTitle = "Warmup, minus overhead" + bound + ":";
+      rightTitle = "Steady state, minus overhead" + bound + ":";
+    } else {
+      leftTitle = "Earlier runs, minus overhead" + bound + ":";
+      rightTitle = "Later runs, minus overhead" + bound + ":";
+    }
+
+    printTable(leftTitle, warmup.minusOverhead(overhead, errorBound), rightTitle, steady.minusOverhead(overhead, errorBound),
+        null, null, null, null);
+    System.out.println(BORDER);
+  }
+
+  // Shows the result of comparing two saved benchmarks in a box as wide as the tables above. If either of them never
+  // reached a steady state, says how few of its runs are being compared.
+  public static void showComparison(String baselineFile, ResultsFile.SteadyState baseline, String candidateFile,
+                                    ResultsFile.SteadyState candidate, BenchmarkComparison comparison) {
+    final double relativeShift = comparison.getRelativeShift();
+    final String direction = relativeShift < 0 ? "faster" : "slower";
+
+    System.out.println(BORDER);
+    System.out.printf ("| %-98s|\n", String.format("Baseline : %s (%d of %d runs steady-state, median %.1f µs)",
+        baselineFile, comparison.getBaselineRuns(), baseline.totalRuns(), UnitConverter.ns_us(comparison.getBaselineMedian())));
+    System.out.printf ("| %-98s|\n", String.format("Candidate: %s (%d of %d runs steady-state, median %.1f µs)",
+        candidateFile, comparison.getCandidateRuns(), candidate.totalRuns(), UnitConverter.ns_us(comparison.getCandidateMedian())));
+    printNoSteadyStateRow("baseline", baseline);
+    printNoSteadyStateRow("candidate", candidate);
+    System.out.println("|-------------------------------------------------+-------------------------------------------------|");
+    System.out.printf ("| %-98s|\n", String.format("Candidate is %.2f%% %s, p=%.3g (Mann-Whitney U = %.0f)",
+        Math.abs(relativeShift)*100, direction, comparison.getPValue(), comparison.getU()));
+    System.out.printf ("| %-98s|\n", String.format("Hodges-Lehmann shift: %+.3f µs per run", comparison.getShift()*.001));
+    System.out.printf ("| %-98s|\n", String.format("Verdict: %s (significance level %.2f)", comparison.getVerdict(),
+        BenchmarkComparison.SIGNIFICANCE));
+    System.out.println(BORDER);
+  }
+
+  private static void printNoSteadyStateRow(String which, ResultsFile.SteadyState file) {
+    if(!file.steadyStateReached()) {
+      System.out.printf ("| %-98s|\n", String.format("Warning: %s has no steady state; only its %.1f%% of runs after the " +
+          "last JIT activity count", which, 100.0*file.runtimes().length / file.totalRuns()));
+    }
+  }
+
+  // Prints everything in the table format shown above except for the closing border, so that callers can add rows.
+  // The CPU time rows are only printed if leftCpu and rightCpu aren't null, and likewise for the allocation rows.
+  private static void printTable(String leftTitle, Statistics left, String rightTitle, Statistics right,
+                                 Statistics leftCpu, Statistics rightCpu,
+                                 Statistics leftAllocations, Statistics rightAllocations) {
     /* Please excuse the semi-spaghettiesque code below, but this will print a table in the above format exactly,
        assuming that no runs took more than 9999999 seconds (~2777 hours, or ~115 days).
 
        If your runs are taking longer than that, you are probably serious enough to use the CSV output option; just include
        "S" at the end of the command line argument or use the "Benchmark Solution -> CSV" Run/Debug config in IntelliJ. */
 
-    System.out.println("+-------------------------------------------------+-------------------------------------------------+");
-    System.out.println("| Benchmark results (runtime, all runs):          | Benchmark results (runtime, last 80% of runs):  |");
-    System.out.printf ("|  * Runs     : %-32d  |  * Runs     : %-32d  |\n", all.getRuns(), last80p.getRuns());
-    System.out.printf ("|  * Mean     : %-11.3f ms / %-12.1f µs  |  * Mean     : %-11.3f ms / %-12.1f µs  |\n", UnitConverter.ns_ms(all.getMean()), UnitConverter.ns_us(all.getMean()), UnitConverter.ns_ms(last80p.getMean()), UnitConverter.ns_us(last80p.getMean()));
+    System.out.println(BORDER);
+    System.out.printf("| %-48s| %-48s|\n", leftTitle, rightTitle);
+    System.out.printf ("|  * Runs     : %-32d  |  * Runs     : %-32d  |\n", left.getRuns(), right.getRuns());
+    System.out.printf ("|  * Mean     : %-11.3f ms / %-17s|  * Mean     : %-11.3f ms / %-17s|\n", UnitConverter.ns_ms(left.getMean()), withCI(left.getMean(), left.getMeanCI(), 14) + " µs", UnitConverter.ns_ms(right.getMean()), withCI(right.getMean(), right.getMeanCI(), 14) + " µs");
     System.out.println("|-------------------------------------------------+-------------------------------------------------|");
-    System.out.printf ("|  * Min      : %-11.3f ms / %-12.1f µs  |  * Min      : %-11.3f ms / %-12.1f µs  |\n", UnitConverter.ns_ms(all.getMin()), UnitConverter.ns_us(all.getMin()), UnitConverter.ns_ms(last80p.getMin()), UnitConverter.ns_us(last80p.getMin()));
-    System.out.printf ("|  * Q1       : %-11.3f ms / %-12.1f µs  |  * Q1       : %-11.3f ms / %-12.1f µs  |\n", UnitConverter.ns_ms(all.getQ1()), UnitConverter.ns_us(all.getQ1()), UnitConverter.ns_ms(last80p.getQ1()), UnitConverter.ns_us(last80p.getQ1()));
-    System.out.printf ("|  * Median   : %-11.3f ms / %-12.1f µs  |  * Median   : %-11.3f ms / %-12.1f µs  |\n", UnitConverter.ns_ms(all.getMedian()), UnitConverter.ns_us(all.getMedian()), UnitConverter.ns_ms(last80p.getMedian()), UnitConverter.ns_us(last80p.getMedian()));
-    System.out.printf ("|  * Q3       : %-11.3f ms / %-12.1f µs  |  * Q3       : %-11.3f ms / %-12.1f µs  |\n", UnitConverter.ns_ms(all.getQ3()), UnitConverter.ns_us(all.getQ3()), UnitConverter.ns_ms(last80p.getQ3()), UnitConverter.ns_us(last80p.getQ3()));
-    System.out.printf ("|  * Max      : %-11.3f ms / %-12.1f µs  |  * Max      : %-11.3f ms / %-12.1f µs  |\n", UnitConverter.ns_ms(all.getMax()), UnitConverter.ns_us(all.getMax()), UnitConverter.ns_ms(last80p.getMax()), UnitConverter.ns_us(last80p.getMax()));
-    System.out.printf ("|  * Stddev[σ]: %-11.3f ms / %-12.1f µs  |  * Stddev[σ]: %-11.3f ms / %-12.1f µs  |\n", UnitConverter.ns_ms(all.getStddev()), UnitConverter.ns_us(all.getStddev()), UnitConverter.ns_ms(last80p.getStddev()), UnitConverter.ns_us(last80p.getStddev()));
-    System.out.printf ("|  * Σ(time)  : %-11.3f  s /  %4d:%02d:%02d.%03d  |  * Σ(time)  : %-11.3f  s /  %4d:%02d:%02d.%03d  |\n", UnitConverter.ns_s(all.getTimeSum()), all.getTimeSum_h(), all.getTimeSum_m(), all.getTimeSum_s(), all.getTimeSum_ms(), UnitConverter.ns_s(last80p.getTimeSum()), last80p.getTimeSum_h(), last80p.getTimeSum_m(), last80p.getTimeSum_s(), last80p.getTimeSum_ms());
-    System.out.println("+-------------------------------------------------+-------------------------------------------------+");
-  }
-
-  /* Saves all data points to a CSV file in the inputs directory. Appends the current Unix timestamp
-     to the end of the filename to avoid filename conflicts. The current timestamp is an argument;
-     it's not gotten from inside the method because it has to be synchronized with what the caller
-     knows.
-
-     (The inputs directory is configured to be the cwd by default, and it somewhat makes sense to
-     store the CSV to that directory as the user will most likely spend a lot of time there editing
-     test inputs.) */
-  public static void saveToCSV(long[] data, long currentTime) throws Exception {
-    RandomAccessFile stream = new RandomAccessFile("runtimes_" + currentTime + ".csv", "rw");
-    FileChannel channel = stream.getChannel();
-    FileLock lock = null;
-    try {
-      lock = channel.tryLock();
-
-      // Save every element to a row in the CSV
-      for(int i = 0; i < data.length; i++) {
-        stream.write(Long.toString(data[i]).getBytes());
-        stream.write("\n".getBytes());
-      }
-    } catch (final OverlappingFileLockException e) {
-      stream.close();
-      channel.close();
+    System.out.printf ("|  * Min      : %-11.3f ms / %-12.1f µs  |  * Min      : %-11.3f ms / %-12.1f µs  |\n", UnitConverter.ns_ms(left.getMin()), UnitConverter.ns_us(left.getMin()), UnitConverter.ns_ms(right.getMin()), UnitConverter.ns_us(right.getMin()));
+    System.out.printf ("|  * Q1       : %-11.3f ms / %-17s|  * Q1       : %-11.3f ms / %-17s|\n", UnitConverter.ns_ms(left.getQ1()), withCI(left.getQ1(), left.getQ1CI(), 14) + " µs", UnitConverter.ns_ms(right.getQ1()), withCI(right.getQ1(), right.getQ1CI(), 14) + " µs");
+    System.out.printf ("|  * Median   : %-11.3f ms / %-17s|  * Median   : %-11.3f ms / %-17s|\n", UnitConverter.ns_ms(left.getMedian()), withCI(left.getMedian(), left.getMedianCI(), 14) + " µs", UnitConverter.ns_ms(right.getMedian()), withCI(right.getMedian(), right.getMedianCI(), 14) + " µs");
+    System.out.printf ("|  * Q3       : %-11.3f ms / %-17s|  * Q3       : %-11.3f ms / %-17s|\n", UnitConverter.ns_ms(left.getQ3()), withCI(left.getQ3(), left.getQ3CI(), 14) + " µs", UnitConverter.ns_ms(right.getQ3()), withCI(right.getQ3(), right.getQ3CI(), 14) + " µs");
+    System.out.printf ("|  * P90      : %-11.3f ms / %-12.1f µs  |  * P90      : %-11.3f ms / %-12.1f µs  |\n", UnitConverter.ns_ms(left.getP90()), UnitConverter.ns_us(left.getP90()), UnitConverter.ns_ms(right.getP90()), UnitConverter.ns_us(right.getP90()));
+    System.out.printf ("|  * P99      : %-11.3f ms / %-12.1f µs  |  * P99      : %-11.3f ms / %-12.1f µs  |\n", UnitConverter.ns_ms(left.getP99()), UnitConverter.ns_us(left.getP99()), UnitConverter.ns_ms(right.getP99()), UnitConverter.ns_us(right.getP99()));
+    System.out.printf ("|  * P99.9    : %-11.3f ms / %-12.1f µs  |  * P99.9    : %-11.3f ms / %-12.1f µs  |\n", UnitConverter.ns_ms(left.getP999()), UnitConverter.ns_us(left.getP999()), UnitConverter.ns_ms(right.getP999()), UnitConverter.ns_us(right.getP999()));
+    System.out.printf ("|  * Max      : %-11.3f ms / %-12.1f µs  |  * Max      : %-11.3f ms / %-12.1f µs  |\n", UnitConverter.ns_ms(left.getMax()), UnitConverter.ns_us(left.getMax()), UnitConverter.ns_ms(right.getMax()), UnitConverter.ns_us(right.getMax()));
+    System.out.printf ("|  * Stddev[σ]: %-11.3f ms / %-12.1f µs  |  * Stddev[σ]: %-11.3f ms / %-12.1f µs  |\n", UnitConverter.ns_ms(left.getStddev()), UnitConverter.ns_us(left.getStddev()), UnitConverter.ns_ms(right.getStddev()), UnitConverter.ns_us(right.getStddev()));
+    System.out.printf ("|  * Σ(time)  : %-11.3f  s /  %4d:%02d:%02d.%03d  |  * Σ(time)  : %-11.3f  s /  %4d:%02d:%02d.%03d  |\n", UnitConverter.ns_s(left.getTimeSum()), left.getTimeSum_h(), left.getTimeSum_m(), left.getTimeSum_s(), left.getTimeSum_ms(), UnitConverter.ns_s(right.getTimeSum()), right.getTimeSum_h(), right.getTimeSum_m(), right.getTimeSum_s(), right.getTimeSum_ms());
+    if(leftCpu != null && rightCpu != null) {
+      System.out.println("|-------------------------------------------------+-------------------------------------------------|");
+      System.out.printf ("|  * CPU mean : %-11.3f ms / %-12.1f µs  |  * CPU mean : %-11.3f ms / %-12.1f µs  |\n", UnitConverter.ns_ms(leftCpu.getMean()), UnitConverter.ns_us(leftCpu.getMean()), UnitConverter.ns_ms(rightCpu.getMean()), UnitConverter.ns_us(rightCpu.getMean()));
+      System.out.printf ("|  * CPU med  : %-11.3f ms / %-12.1f µs  |  * CPU med  : %-11.3f ms / %-12.1f µs  |\n", UnitConverter.ns_ms(leftCpu.getMedian()), UnitConverter.ns_us(leftCpu.getMedian()), UnitConverter.ns_ms(rightCpu.getMedian()), UnitConverter.ns_us(rightCpu.getMedian()));
+      System.out.printf ("|  * CPU/wall : %-32.3f  |  * CPU/wall : %-32.3f  |\n", cpuShare(leftCpu, left), cpuShare(rightCpu, right));
+    }
+    if(leftAllocations != null && rightAllocations != null) {
+      System.out.println("|-------------------------------------------------+-------------------------------------------------|");
+      System.out.printf ("|  * Alloc avg: %-14d B / %-11.1f KiB|  * Alloc avg: %-14d B / %-11.1f KiB|\n", leftAllocations.getMean(), leftAllocations.getMean()/1024.0, rightAllocations.getMean(), rightAllocations.getMean()/1024.0);
+      System.out.printf ("|  * Alloc med: %-14d B / %-11.1f KiB|  * Alloc med: %-14d B / %-11.1f KiB|\n", leftAllocations.getMedian(), leftAllocations.getMedian()/1024.0, rightAllocations.getMedian(), rightAllocations.getMedian()/1024.0);
+      System.out.printf ("|  * Alloc max: %-14d B / %-11.1f KiB|  * Alloc max: %-14d B / %-11.1f KiB|\n", leftAllocations.getMax(), leftAllocations.getMax()/1024.0, rightAllocations.getMax(), rightAllocations.getMax()/1024.0);
     }
+    System.out.printf ("| %-98s|\n", String.format("± values are %.0f%% bootstrap confidence intervals (%d resamples).", Bootstrap.CONFIDENCE*100, Bootstrap.RESAMPLES));
+  }
+
+  // Σ(CPU time) / Σ(time) of the same runs
+  private static double cpuShare(Statistics cpu, Statistics wall) {
+    return wall.getTimeSum() == 0 ? 0 : (double)cpu.getTimeSum() / wall.getTimeSum();
+  }
+
+  /* Formats a runtime and the half-width of its confidence interval in µs as "X.X ±Y.Y", both with the same number of
+     decimals: one, or up to three (ns precision) for half-widths below 0.1 µs, which would all show up as ±0.0
+     otherwise. Decimals are dropped again if the result wouldn't fit in `width` characters, so that its column keeps
+     its width. */
+  private static String withCI(long value, long halfWidth, int width) {
+    int decimals = halfWidth >= 100 ? 1 : halfWidth >= 10 ? 2 : 3;
+    String formatted;
+    do {
+      formatted = String.format("%." + decimals + "f ±%." + decimals + "f", UnitConverter.ns_us(value),
+          UnitConverter.ns_us(halfWidth));
+    } while(formatted.length() > width && decimals-- > 0);
+    return formatted;
+  }
+
+  // Shows one line per solution and test of a suite run, in the order they ran, with their steady-state figures.
+  public static void showSuiteResults(List<BenchmarkSuite.Outcome> outcomes, int failed) {
+    System.out.println(BORDER);
+    System.out.printf ("| %-98s|\n", "Suite results (steady state, times in µs):");
+    System.out.printf ("| %-98s|\n", String.format("%-26s %8s %-20s %10s %10s %6s %6s %3s",
+        "Solution", "Runs", "Median", "Mean", "P99", "CPU/w", "Steady", "Out"));
+    System.out.println("|-------------------------------------------------+-------------------------------------------------|");
+    for(BenchmarkSuite.Outcome outcome : outcomes) {
+      Statistics steady = outcome.steady();
+      System.out.printf ("| %-98s|\n", String.format("%-26.26s %8d %-20s %10.1f %10.1f %6s %6s %3s",
+          outcome.item().key(), steady.getRuns(),
+          withCI(steady.getMedian(), steady.getMedianCI(), 20),
+          UnitConverter.ns_us(steady.getMean()), UnitConverter.ns_us(steady.getP99()),
+          outcome.cpu() == null ? "-" : String.format("%.2f", cpuShare(outcome.cpu(), steady)),
+          outcome.steadyStateReached() ? "yes" : "no", outcome.output() != null ? outcome.output().label() : "-"));
+    }
+    System.out.printf ("| %-98s|\n", "Out: AC/WA against o_{Specifier}_Z.txt (- if there's none); * = not every run printed the same.");
+    if(failed > 0) {
+      System.out.println("|-------------------------------------------------+-------------------------------------------------|");
+      System.out.printf ("| %-98s|\n", failed + " solution(s) failed and are left out; see the errors above.");
+    }
+    System.out.println(BORDER);
+  }
+
+  /* Shows how long SolveKit took to run `probe` from start to exit: from the class directories like the IDE starts it,
+     from solvekit.jar, and from solvekit.jar with the startup cache. startups[way][sample] are wall-clock times in ns. */
+  public static void showStartupTimes(String probe, String archiveName, long[][] startups) {
+    String[] ways = {"Class directories", "solvekit.jar", "solvekit.jar + " + archiveName};
+    long baseline = new Statistics(startups[0]).getMedian();
+
+    System.out.println(BORDER);
+    System.out.printf ("| %-98s|\n", "Startup time of " + probe + " (" + startups[0].length + " runs each, start to exit):");
+    System.out.printf ("| %-98s|\n", String.format("%-34s %12s %12s %12s", "Started from", "Median", "Min", "Speedup"));
+    System.out.println("|-------------------------------------------------+-------------------------------------------------|");
+    for(int way = 0; way < ways.length; way++) {
+      Statistics startup = new Statistics(startups[way]);
+      System.out.printf ("| %-98s|\n", String.format("%-34s %9.1f ms %9.1f ms %11.2fx", ways[way],
+          UnitConverter.ns_ms(startup.getMedian()), UnitConverter.ns_ms(startup.getMin()),
+          (double) baseline / startup.getMedian()));
+    }
+    System.out.println(BORDER);
+  }
+
+  // Lists every benchmark of one solution and test, oldest first, with how each one changed from the one before.
+  public static void showHistoryTrend(List<BenchmarkHistory.Entry> entries) {
+    System.out.println(BORDER);
+    System.out.printf ("| %-98s|\n", "History of " + entries.getFirst().key() + " (steady state, times in µs):");
+    System.out.printf ("| %-98s|\n", String.format("%-16s %-9s %9s %-20s %10s %8s %-18s",
+        "Date", "Commit", "Runs", "Median", "P99", "Change", "JVM"));
+    System.out.println("|-------------------------------------------------+-------------------------------------------------|");
+    BenchmarkHistory.Entry previous = null;
+    for(BenchmarkHistory.Entry entry : entries) {
+      System.out.printf ("| %-98s|\n", String.format("%-16s %-9s %9d %-20s %10.1f %8s %-18.18s",
+          DATE_FORMAT.format(Instant.ofEpochSecond(entry.timestamp())), entry.commit(), entry.runs(),
+          withCI(entry.median(), entry.medianCI(), 20),
+          UnitConverter.ns_us(entry.p99()), previous == null ? "" : change(previous.median(), entry.median()),
+          entry.jvm()));
+      previous = entry;
+    }
+
+    BenchmarkHistory.Entry best = entries.stream().min(Comparator.comparingLong(BenchmarkHistory.Entry::median)).get();
+    BenchmarkHistory.Entry worst = entries.stream().max(Comparator.comparingLong(BenchmarkHistory.Entry::median)).get();
+    System.out.println("|-------------------------------------------------+-------------------------------------------------|");
+    System.out.printf ("| %-98s|\n", String.format("Best : %.1f µs on %s (commit %s)", UnitConverter.ns_us(best.median()),
+        DATE_FORMAT.format(Instant.ofEpochSecond(best.timestamp())), best.commit()));
+    System.out.printf ("| %-98s|\n", String.format("Worst: %.1f µs on %s (commit %s)", UnitConverter.ns_us(worst.median()),
+        DATE_FORMAT.format(Instant.ofEpochSecond(worst.timestamp())), worst.commit()));
+    System.out.println(BORDER);
+  }
+
+  // Shows one line per solution and test: its latest median, how that changed from the previous benchmark, and its
+  // best and worst medians so far. Entries must be sorted oldest first.
+  public static void showHistoryOverview(List<BenchmarkHistory.Entry> entries) {
+    Map<String, List<BenchmarkHistory.Entry>> bySolution = new TreeMap<>();
+    for(BenchmarkHistory.Entry entry : entries) {
+      bySolution.computeIfAbsent(entry.key(), k -> new ArrayList<>()).add(entry);
+    }
+
+    System.out.println(BORDER);
+    System.out.printf ("| %-98s|\n", "Benchmark history (steady-state medians in µs):");
+    System.out.printf ("| %-98s|\n", String.format("%-26s %4s %12s %12s %8s %12s %12s",
+        "Solution", "#", "Latest", "Previous", "Change", "Best", "Worst"));
+    System.out.println("|-------------------------------------------------+-------------------------------------------------|");
+    for(Map.Entry<String, List<BenchmarkHistory.Entry>> solution : bySolution.entrySet()) {
+      List<BenchmarkHistory.Entry> runs = solution.getValue();
+      BenchmarkHistory.Entry latest = runs.getLast();
+      BenchmarkHistory.Entry previous = runs.size() > 1 ? runs.get(runs.size() - 2) : null;
+      long best = runs.stream().mapToLong(BenchmarkHistory.Entry::median).min().getAsLong();
+      long worst = runs.stream().mapToLong(BenchmarkHistory.Entry::median).max().getAsLong();
+      System.out.printf ("| %-98s|\n", String.format("%-26.26s %4d %12.1f %12s %8s %12.1f %12.1f",
+          solution.getKey(), runs.size(), UnitConverter.ns_us(latest.median()),
+          previous == null ? "" : String.format("%.1f", UnitConverter.ns_us(previous.median())),
+          previous == null ? "" : change(previous.median(), latest.median()),
+          UnitConverter.ns_us(best), UnitConverter.ns_us(worst)));
+    }
+    System.out.println(BORDER);
+  }
 
-    lock.release();
-    stream.close();
-    channel.close();
+  // Relative change from one median to the next, e.g. "-12.3%" (negative is faster)
+  private static String change(long before, long after) {
+    return before == 0 ? "" : String.format("%+.1f%%", (after - before) * 100.0 / before);
   }
 }
@@ -0,0 +1,208 @@
+/*** BenchmarkResult.java *****************************************************\
+ * Author:         twisted_nematic57                                          *
+ * Date Created:   2026-10-17                                                 *
+ * Description:    Defines a record that holds everything a benchmark         *
+ *                 produced: histograms of the warmup and steady-state        *
+ *                 runtimes, CPU times and allocations, the garbage           *
+ *                 collections that overlapped the runs, how many iterations  *
+ *                 were spent warming up, (if they were kept) the runtime,    *
+ *                 CPU time, allocations and GC time of each iteration, and   *
+ *                 whether the solution printed the right output (and how     *
+ *                 long printing it took).                                    *
+\******************************************************************************/
+
+import java.util.Arrays;
+import java.util.function.Function;
+
+// runtimes is null unless the benchmark was asked to keep every runtime (see RuntimeRecorder). cpuTimes holds the CPU
+// time (in ns, see CpuClock) used by each iteration; it's null unless runtimes were kept and CPU time was tracked.
+// allocations holds the bytes allocated by each iteration; it's null unless runtimes were kept and allocations were
+// tracked. gcTimes holds the GC time that overlapped each iteration (see GcActivity); it's null unless runtimes were
+// kept by a RuntimeRecorder.
+// warmupIterations is the index of the first steady-state runtime. It equals iterations if the benchmark never reached
+// a steady state.
+// warmup and steady are histograms of the runtimes before and after the steady state began. If the benchmark never
+// reached a steady state, steady only holds the runtimes after the latest JIT activity. warmupCpuTimes and
+// steadyCpuTimes are split the same way, and are null if CPU time wasn't tracked (e.g. on JVMs that can't). So are
+// warmupAllocations and steadyAllocations, for allocations.
+// warmupGc and steadyGc are split the same way too. They're null for results rebuilt with fromRuntimes().
+// output says whether the solution printed the expected output, and the same output every run (see OutputCapture). It's
+// null unless the benchmark captured the output; see withOutput(). outputTiming holds the time each run spent writing
+// its output and how many bytes it wrote; it's null unless the output went to a realistic sink (see OutputSink).
+public record BenchmarkResult(long[] runtimes, long[] cpuTimes, long[] allocations, long[] gcTimes, int iterations,
+                              int warmupIterations, RuntimeHistogram warmup, RuntimeHistogram steady,
+                              RuntimeHistogram warmupCpuTimes, RuntimeHistogram steadyCpuTimes,
+                              RuntimeHistogram warmupAllocations, RuntimeHistogram steadyAllocations,
+                              GcActivity warmupGc, GcActivity steadyGc, OutputVerdict output,
+                              OutputTiming outputTiming) {
+  // Rebuilds a result from runtimes (and CPU times and allocations, which may be null) that were measured somewhere else
+  // (e.g. in a forked JVM). steadyStateStart is what steadyStateStart() returned for the original result, so that the
+  // rebuilt one is split the same way even if it never reached a steady state. GC activity isn't carried over.
+  public static BenchmarkResult fromRuntimes(long[] runtimes, long[] cpuTimes, long[] allocations, int warmupIterations,
+                                             int steadyStateStart) {
+    RuntimeHistogram[] split = split(runtimes, steadyStateStart);
+    RuntimeHistogram[] cpuSplit = cpuTimes != null ? split(cpuTimes, steadyStateStart) : new RuntimeHistogram[2];
+    RuntimeHistogram[] allocationSplit = allocations != null ? split(allocations, steadyStateStart) : new RuntimeHistogram[2];
+    return new BenchmarkResult(runtimes, cpuTimes, allocations, null, runtimes.length, warmupIterations,
+        split[0], split[1], cpuSplit[0], cpuSplit[1], allocationSplit[0], allocationSplit[1], null, null, null, null);
+  }
+
+  // Same result, with the verdict on the output of its runs and (if there was a sink) its timing
+  public BenchmarkResult withOutput(OutputVerdict output, OutputTiming outputTiming) {
+    return new BenchmarkResult(runtimes, cpuTimes, allocations, gcTimes, iterations, warmupIterations, warmup, steady,
+        warmupCpuTimes, steadyCpuTimes, warmupAllocations, steadyAllocations, warmupGc, steadyGc, output, outputTiming);
+  }
+
+  // Histograms of values[0..steadyStateStart) and of the rest
+  private static RuntimeHistogram[] split(long[] values, int steadyStateStart) {
+    RuntimeHistogram[] split = {new RuntimeHistogram(), new RuntimeHistogram()};
+    for(int i = 0; i < values.length; i++) {
+      split[i < steadyStateStart ? 0 : 1].record(values[i]);
+    }
+    return split;
+  }
+
+  // Steady-state runtimes of several results (e.g. forks) in one array. Every result must have kept its runtimes.
+  public static long[] pooledSteadyRuntimes(BenchmarkResult[] results) {
+    return pooledSteady(results, BenchmarkResult::runtimes);
+  }
+
+  // Same as pooledSteadyRuntimes(), but for CPU times. Null if any of the results didn't keep them.
+  public static long[] pooledSteadyCpuTimes(BenchmarkResult[] results) {
+    return pooledSteady(results, BenchmarkResult::cpuTimes);
+  }
+
+  // Same as pooledSteadyRuntimes(), but for allocations. Null if any of the results didn't keep them.
+  public static long[] pooledSteadyAllocations(BenchmarkResult[] results) {
+    return pooledSteady(results, BenchmarkResult::allocations);
+  }
+
+  private static long[] pooledSteady(BenchmarkResult[] results, Function<BenchmarkResult, long[]> values) {
+    for(BenchmarkResult result : results) {
+      if(values.apply(result) == null) {
+        return null;
+      }
+    }
+    int total = 0;
+    for(BenchmarkResult result : results) {
+      total += values.apply(result).length - result.steadyStateStart();
+    }
+    long[] pooled = new long[total];
+    int offset = 0;
+    for(BenchmarkResult result : results) {
+      long[] kept = values.apply(result);
+      int start = result.steadyStateStart();
+      System.arraycopy(kept, start, pooled, offset, kept.length - start);
+      offset += kept.length - start;
+    }
+    return pooled;
+  }
+
+  public boolean reachedSteadyState() {
+    return warmupIterations < iterations;
+  }
+
+  // Index of the first runtime that's reported as steady state. If the JVM never settled down, the split is right after
+  // the latest JIT activity instead, whether or not every runtime was kept; that's where the histograms were split while
+  // the benchmark ran. The steady side is empty if the JIT was busy during the very last run.
+  public int steadyStateStart() {
+    return reachedSteadyState() ? warmupIterations : (int)warmup.getCount();
+  }
+
+  // Statistics about the runs before steadyStateStart(). Exact if every runtime was kept; otherwise they come from the
+  // histogram.
+  public Statistics warmupStatistics() {
+    return statistics(runtimes, warmup, false);
+  }
+
+  // Statistics about the runs from steadyStateStart() on
+  public Statistics steadyStatistics() {
+    return statistics(runtimes, steady, true);
+  }
+
+  public boolean cpuTimeTracked() {
+    return warmupCpuTimes != null;
+  }
+
+  // Statistics about the CPU time used per run, split like the runtimes. Null if CPU time wasn't tracked.
+  public Statistics warmupCpuStatistics() {
+    return cpuTimeTracked() ? statistics(cpuTimes, warmupCpuTimes, false) : null;
+  }
+
+  public Statistics steadyCpuStatistics() {
+    return cpuTimeTracked() ? statistics(cpuTimes, steadyCpuTimes, true) : null;
+  }
+
+  public boolean allocationsTracked() {
+    return warmupAllocations != null;
+  }
+
+  // Statistics about the bytes allocated per run, split like the runtimes. Null if allocations weren't tracked.
+  public Statistics warmupAllocationStatistics() {
+    return allocationsTracked() ? statistics(allocations, warmupAllocations, false) : null;
+  }
+
+  public Statistics steadyAllocationStatistics() {
+    return allocationsTracked() ? statistics(allocations, steadyAllocations, true) : null;
+  }
+
+  public boolean gcTracked() {
+    return warmupGc != null;
+  }
+
+  // GC activity during the runs before steadyStateStart(). Null if it wasn't tracked.
+  public GcActivity warmupGcActivity() {
+    if(!gcTracked()) {
+      return null;
+    }
+    return gcTimes != null ? GcActivity.of(runtimes, gcTimes, 0, steadyStateStart()) : warmupGc;
+  }
+
+  // GC activity during the runs from steadyStateStart() on
+  public GcActivity steadyGcActivity() {
+    if(!gcTracked()) {
+      return null;
+    }
+    return gcTimes != null ? GcActivity.of(runtimes, gcTimes, steadyStateStart(), runtimes.length) : steadyGc;
+  }
+
+  // Statistics about the runs before steadyStateStart() that no garbage collection overlapped. Null if GC activity
+  // wasn't tracked.
+  public Statistics warmupGcFreeStatistics() {
+    if(!gcTracked()) {
+      return null;
+    }
+    return gcTimes != null ? gcFreeStatistics(0, steadyStateStart()) : new Statistics(warmupGc.getGcFree());
+  }
+
+  // Statistics about the runs from steadyStateStart() on that no garbage collection overlapped
+  public Statistics steadyGcFreeStatistics() {
+    if(!gcTracked()) {
+      return null;
+    }
+    return gcTimes != null ? gcFreeStatistics(steadyStateStart(), runtimes.length) : new Statistics(steadyGc.getGcFree());
+  }
+
+  // Statistics about the kept runtimes `from` (inclusive) to `to` (exclusive) that no garbage collection overlapped.
+  // All zeros if every one of them was overlapped.
+  private Statistics gcFreeStatistics(int from, int to) {
+    long[] gcFree = new long[to - from];
+    int count = 0;
+    for(int i = from; i < to; i++) {
+      if(gcTimes[i] == GcActivity.NO_GC) {
+        gcFree[count++] = runtimes[i];
+      }
+    }
+    return count == 0 ? new Statistics(new RuntimeHistogram()) : new Statistics(Arrays.copyOf(gcFree, count));
+  }
+
+  // Statistics about one side of the steadyStateStart() split, from every value if they were kept, or from the histogram
+  // of that side otherwise.
+  private Statistics statistics(long[] values, RuntimeHistogram histogram, boolean steadySide) {
+    if(values == null) {
+      return new Statistics(histogram);
+    }
+    return steadySide ? new Statistics(Arrays.copyOfRange(values, steadyStateStart(), values.length))
+                      : new Statistics(Arrays.copyOfRange(values, 0, steadyStateStart()));
+  }
+}
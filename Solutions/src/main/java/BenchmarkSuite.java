@@ -0,0 +1,215 @@
+/*** BenchmarkSuite.java ******************************************************\
+ * Author:         twisted_nematic57                                          *
+ * Date Created:   2026-10-18                                                 *
+ * Description:    Benchmarks many solutions in one invocation. Expands glob  *
+ *                 patterns over the solution classes on the classpath and    *
+ *                 the tests that have input, runs everything back to back in *
+ *                 an order that keeps the JIT state each benchmark inherits  *
+ *                 as close to its own as possible, and collects one steady-  *
+ *                 state summary per solution and test.                       *
+\******************************************************************************/
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.stream.Stream;
+
+public class BenchmarkSuite {
+  // One solution and test to benchmark
+  public record Item(String platform, SolutionSpecifier solution) {
+    // "{Platform}.{Specifier}-Z", like on the command line
+    public String key() {
+      return platform + "." + solution.name() + "-" + solution.test();
+    }
+  }
+
+  // Steady-state summary of one item. cpu and allocations describe the same runs; they're null if not tracked. output is
+  // the verdict on what the solution printed; it's null for forked benchmarks, whose output isn't captured. outputTiming
+  // covers the same runs as steady, and is null unless the output went to a sink (--sink).
+  public record Outcome(Item item, Statistics steady, boolean steadyStateReached, Statistics cpu, Statistics allocations,
+                        OutputVerdict output, OutputTiming outputTiming) { }
+
+  // A pattern from the command line. `name` matches "{Platform}.{Specifier}"; tests[Z] says whether test Z is wanted.
+  private record Pattern(PathMatcher name, boolean[] tests) { }
+
+  /* Finds every solution and test that matches at least one of the patterns. A pattern looks like
+     "{Platform}.{Specifier}[-{tests}]": the first part is a glob (* and ? as usual, {a,b} for alternatives), and
+     {tests} is a test #, a range like 0..9, or * (the default). Only tests that the solution can run on right now are
+     picked (see PlatformHandler.availableTests()).
+
+     Items are ordered by platform, then solution, then test. Running a solution's tests back to back means that each
+     one starts out with code the JIT compiled for that very solution, and running a platform's solutions back to back
+     keeps the handler's code paths from being profiled with another platform's types in between. */
+  public static List<Item> resolve(List<String> patterns) throws IOException {
+    List<Pattern> parsed = new ArrayList<>();
+    for(String pattern : patterns) {
+      parsed.add(parsePattern(pattern));
+    }
+
+    List<Item> items = new ArrayList<>();
+    for(String platform : new TreeSet<>(Main.HANDLERS.keySet())) {
+      PlatformHandler handler = Main.HANDLERS.get(platform).get();
+      for(String solution : findSolutions(platform)) {
+        Path name = Path.of(platform + "." + solution);
+        for(int test : handler.availableTests(solution)) {
+          for(Pattern pattern : parsed) {
+            if(pattern.name().matches(name) && pattern.tests()[test]) {
+              items.add(new Item(platform, new SolutionSpecifier(solution, test)));
+              break;
+            }
+          }
+        }
+      }
+    }
+    return items;
+  }
+
+  /* Benchmarks every item, one after another, with `iterations` iterations each (or adaptively if that's null). A
+     full GC runs before each item so that no item's timed runs have to collect the garbage of the one before it.
+     With --forks, every item runs in its own child JVMs instead, so that items can't influence each other at all.
+     Items that fail are reported and skipped. */
+  public static List<Outcome> run(List<Item> items, Integer iterations, BenchmarkOptions options, long now) {
+    List<Outcome> outcomes = new ArrayList<>();
+    for(int i = 0; i < items.size(); i++) {
+      Item item = items.get(i);
+      System.out.println("\n[" + (i+1) + "/" + items.size() + "] Benchmarking " + item.key() + "...");
+      System.gc();
+
+      try {
+        Outcome outcome;
+        if(options.forks() > 0) {
+          BenchmarkResult[] forks = ForkedBenchmark.run(item.platform(), item.solution(), iterations, options.forks(),
+              options.jfr() ? "suite_" + now + "_" + item.key() : null);
+          long[] cpuTimes = BenchmarkResult.pooledSteadyCpuTimes(forks);
+          long[] allocations = BenchmarkResult.pooledSteadyAllocations(forks);
+          outcome = new Outcome(item, new Statistics(BenchmarkResult.pooledSteadyRuntimes(forks)),
+              Arrays.stream(forks).allMatch(BenchmarkResult::reachedSteadyState),
+              cpuTimes != null ? new Statistics(cpuTimes) : null, allocations != null ? new Statistics(allocations) : null,
+              null, null);
+        } else {
+          PlatformHandler handler = Main.HANDLERS.get(item.platform()).get(); // Fresh, so no input carries over
+          BenchmarkResult result = iterations == null
+              ? handler.benchmarkSolutionAdaptively(item.solution(), options, false)
+              : handler.benchmarkSolution(item.solution(), iterations, false, options);
+          outcome = new Outcome(item, result.steadyStatistics(), result.reachedSteadyState(),
+              result.steadyCpuStatistics(), result.steadyAllocationStatistics(), result.output(),
+              result.outputTiming() != null ? result.outputTiming().slice(result.steadyStateStart(), result.iterations()) : null);
+        }
+        outcomes.add(outcome);
+
+        try {
+          BenchmarkHistory.append(BenchmarkHistory.Entry.of(now, item.platform(), item.solution(), outcome.steady()));
+        } catch(IOException e) {
+          System.out.println("Error: Couldn't add this benchmark to the history. Error details:\n" + e.getMessage());
+        }
+      } catch(Exception e) {
+        System.out.println("Error: " + item.key() + " failed and is left out of the results. Error details:\n" + e);
+      }
+    }
+    return outcomes;
+  }
+
+  // Saves one CSV row per outcome. Times are in ns and describe the steady-state runs.
+  public static void writeCSV(Path path, List<Outcome> outcomes) throws IOException {
+    try(BufferedWriter out = Files.newBufferedWriter(path)) {
+      out.write("platform,solution,test,runs,steady_state_reached,median_ns,median_ci_ns,mean_ns,min_ns,p90_ns,p99_ns," +
+          "max_ns,stddev_ns,cpu_mean_ns,allocated_bytes_mean,output,nondeterministic_runs," +
+          "output_bytes_mean,output_time_mean_ns\n");
+      for(Outcome outcome : outcomes) {
+        Statistics steady = outcome.steady();
+        out.write(String.join(",", outcome.item().platform(), outcome.item().solution().name(),
+            Integer.toString(outcome.item().solution().test()), Integer.toString(steady.getRuns()),
+            outcome.steadyStateReached() ? "1" : "0", Long.toString(steady.getMedian()),
+            Long.toString(steady.getMedianCI()), Long.toString(steady.getMean()), Long.toString(steady.getMin()),
+            Long.toString(steady.getP90()), Long.toString(steady.getP99()), Long.toString(steady.getMax()),
+            Long.toString(steady.getStddev()), outcome.cpu() != null ? Long.toString(outcome.cpu().getMean()) : "",
+            outcome.allocations() != null ? Long.toString(outcome.allocations().getMean()) : "",
+            outcome.output() != null && outcome.output().checked() ? (outcome.output().accepted() ? "AC" : "WA") : "",
+            outcome.output() != null ? Integer.toString(outcome.output().nondeterministicRuns()) : "",
+            outcome.outputTiming() != null ? Long.toString(outcome.outputTiming().meanBytes(0, outcome.outputTiming().times().length)) : "",
+            outcome.outputTiming() != null ? Long.toString(outcome.outputTiming().meanTime(0, outcome.outputTiming().times().length)) : ""));
+        out.write('\n');
+      }
+    }
+  }
+
+  private static Pattern parsePattern(String pattern) {
+    String name = pattern.contains("-") ? pattern.substring(0, pattern.indexOf("-")) : pattern;
+    String tests = pattern.contains("-") ? pattern.substring(pattern.indexOf("-") + 1) : "*";
+    if(!name.contains(".")) {
+      throw new IllegalSpecifierException("Suite pattern \"" + pattern + "\" must look like {Platform}.{Specifier}[-{tests}]");
+    }
+
+    boolean[] wanted = new boolean[10];
+    if(tests.equals("*")) {
+      Arrays.fill(wanted, true);
+    } else if(tests.matches("[0-9]")) {
+      wanted[tests.charAt(0) - '0'] = true;
+    } else if(tests.matches("[0-9]\\.\\.[0-9]")) {
+      Arrays.fill(wanted, tests.charAt(0) - '0', tests.charAt(3) - '0' + 1, true);
+    } else {
+      throw new IllegalSpecifierException("Invalid tests \"" + tests + "\" in suite pattern \"" + pattern +
+          "\" (must be a test #, a range like 0..9, or *)");
+    }
+    return new Pattern(FileSystems.getDefault().getPathMatcher("glob:" + name), wanted);
+  }
+
+  // Names of the solutions of a platform: the classes in its package that have a public static main method, sorted
+  private static List<String> findSolutions(String platform) throws IOException {
+    URL url = SolutionClassLoader.resource(platform);
+    if(url == null) { // No solutions for this platform
+      return List.of();
+    }
+
+    List<String> solutions = new ArrayList<>();
+    try {
+      URI uri = url.toURI();
+      // Path.of() only resolves a URI inside a jar while the jar's file system is open
+      FileSystem jar = uri.getScheme().equals("jar") ? FileSystems.newFileSystem(uri, Map.of()) : null;
+      try(Stream<Path> files = Files.list(Path.of(uri))) {
+        for(Path file : files.toList()) {
+          String fileName = file.getFileName().toString();
+          if(fileName.endsWith(".class") && !fileName.contains("$") && hasMain(platform, fileName.replace(".class", ""))) {
+            solutions.add(fileName.replace(".class", ""));
+          }
+        }
+      } finally {
+        if(jar != null) {
+          jar.close();
+        }
+      }
+    } catch(URISyntaxException e) {
+      throw new IOException("The classes of " + platform + " couldn't be listed", e);
+    }
+    solutions.sort(null);
+    return solutions;
+  }
+
+  // Checked without initializing the class, so that no solution code runs before its benchmark does
+  private static boolean hasMain(String platform, String className) {
+    try {
+      for(Method method : Class.forName(platform + "." + className, false, SolutionClassLoader.forPlatform(platform)).getMethods()) {
+        if(method.getName().equals("main") && Modifier.isStatic(method.getModifiers())) {
+          return true;
+        }
+      }
+    } catch(ClassNotFoundException | LinkageError e) {
+      // Not a loadable class, so not a solution
+    }
+    return false;
+  }
+}
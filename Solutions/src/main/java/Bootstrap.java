@@ -0,0 +1,113 @@
+/*** Bootstrap.java ***********************************************************\
+ * Author:         twisted_nematic57                                          *
+ * Date Created:   2026-10-17                                                 *
+ * Description:    Estimates how much the mean and quartiles of a set of      *
+ *                 runtimes could be off by resampling its histogram          *
+ *                 thousands of times on every core (Poisson bootstrap).      *
+\******************************************************************************/
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+public class Bootstrap {
+  public static final int RESAMPLES = 2000;
+  public static final double CONFIDENCE = 0.95;
+
+  private static final int POISSON_NORMAL_THRESHOLD = 30; // Bucket counts from here on are resampled with a normal approximation
+  private static final double[] EXP_NEG = new double[POISSON_NORMAL_THRESHOLD]; // EXP_NEG[k] = e^-k
+  static {
+    for(int k = 0; k < POISSON_NORMAL_THRESHOLD; k++) {
+      EXP_NEG[k] = Math.exp(-k);
+    }
+  }
+
+  /* Returns the half-widths of the 95% confidence intervals of {mean, Q1, median, Q3}, in ns.
+
+     A classic bootstrap draws n runtimes with replacement, which is the same as giving every runtime a multinomial
+     weight. With large n, those weights are practically independent Poisson(1) variables, so a bucket holding c
+     runtimes gets a Poisson(c) count in each resample. That makes one resample cost O(non-empty buckets) instead of
+     O(n log n), so the cost doesn't depend on the number of runs at all. The resamples are split into chunks that run
+     on the common ForkJoin pool, each with its own split of one SplittableRandom. */
+  public static long[] halfWidths(RuntimeHistogram histogram) {
+    if(histogram.getCount() == 0) {
+      return new long[4];
+    }
+    final long[][] buckets = histogram.nonEmptyBuckets();
+    final long[] values = buckets[0];
+    final long[] counts = buckets[1];
+
+    final double[][] estimates = new double[4][RESAMPLES]; // Mean, Q1, median and Q3 of each resample
+    final int chunks = Math.min(RESAMPLES, 4 * ForkJoinPool.getCommonPoolParallelism());
+    final SplittableRandom[] generators = new SplittableRandom[chunks];
+    final SplittableRandom root = new SplittableRandom();
+    for(int i = 0; i < chunks; i++) {
+      generators[i] = root.split();
+    }
+
+    IntStream.range(0, chunks).parallel().forEach(chunk -> {
+      final SplittableRandom random = generators[chunk];
+      final long[] resampled = new long[counts.length];
+      for(int r = chunk; r < RESAMPLES; r += chunks) {
+        long total;
+        do { // A (rare) empty resample has no statistics; draw again
+          total = 0;
+          for(int i = 0; i < counts.length; i++) {
+            resampled[i] = poisson(counts[i], random);
+            total += resampled[i];
+          }
+        } while(total == 0);
+
+        double sum = 0;
+        for(int i = 0; i < counts.length; i++) {
+          sum += (double)resampled[i] * values[i];
+        }
+        estimates[0][r] = sum / total;
+        estimates[1][r] = valueAtQuantile(values, resampled, total, 0.25);
+        estimates[2][r] = valueAtQuantile(values, resampled, total, 0.50);
+        estimates[3][r] = valueAtQuantile(values, resampled, total, 0.75);
+      }
+    });
+
+    // Percentile method: the interval between the 2.5th and 97.5th percentiles of the resampled estimates
+    final int lower = (int)Math.floor((1 - CONFIDENCE)/2 * (RESAMPLES-1));
+    final int upper = (int)Math.ceil((1 + CONFIDENCE)/2 * (RESAMPLES-1));
+    final long[] halfWidths = new long[4];
+    for(int s = 0; s < 4; s++) {
+      Arrays.sort(estimates[s]);
+      halfWidths[s] = Math.round((estimates[s][upper] - estimates[s][lower]) / 2);
+    }
+    return halfWidths;
+  }
+
+  // Quantile of a resample, by the same rule as Statistics.quantile()
+  private static long valueAtQuantile(long[] values, long[] counts, long total, double quantile) {
+    return Statistics.quantile(total, quantile, rank -> {
+      long seen = 0;
+      for(int i = 0; i < counts.length; i++) {
+        seen += counts[i];
+        if(seen > rank) {
+          return values[i];
+        }
+      }
+      return values[values.length - 1];
+    });
+  }
+
+  // Draws from a Poisson distribution with the given (integer) mean.
+  private static long poisson(long mean, SplittableRandom random) {
+    if(mean >= POISSON_NORMAL_THRESHOLD) { // Close enough to normal
+      return Math.max(0, Math.round(mean + Math.sqrt(mean) * random.nextGaussian()));
+    }
+    // Knuth's method: count how many uniform variables can be multiplied together before dropping below e^-mean
+    final double limit = EXP_NEG[(int)mean];
+    long k = 0;
+    double product = random.nextDouble();
+    while(product > limit) {
+      k++;
+      product *= random.nextDouble();
+    }
+    return k;
+  }
+}
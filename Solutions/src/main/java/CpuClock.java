@@ -0,0 +1,128 @@
+/*** CpuClock.java ************************************************************\
+ * Author:         twisted_nematic57                                          *
+ * Date Created:   2026-10-18                                                 *
+ * Description:    Reads the CPU time that the benchmarking thread and the    *
+ *                 common fork/join pool's worker threads (which run parallel *
+ *                 streams) have used so far. Registers itself as the common  *
+ *                 pool's thread factory to know which threads those workers  *
+ *                 are, and forgets them once they die.                       *
+\******************************************************************************/
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+
+public class CpuClock implements ForkJoinPool.ForkJoinWorkerThreadFactory {
+  private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+  private static final boolean SUPPORTED = enableCpuTime();
+
+  // IDs of the common pool's worker threads that were alive when last checked. Replaced (not modified) whenever a worker
+  // starts or dead ones are dropped, so that spans can read it without locking or allocating.
+  private static volatile long[] workerIds = new long[0];
+
+  /* Makes this class the common pool's thread factory. Must be called before anything touches ForkJoinPool, since the
+     common pool reads its factory from a system property when it's created. Returns false if that ship has sailed; the
+     CPU time of parallel streams isn't counted then. */
+  public static boolean install() {
+    System.setProperty("java.util.concurrent.ForkJoinPool.common.threadFactory", CpuClock.class.getName());
+    return ForkJoinPool.commonPool().getFactory() instanceof CpuClock;
+  }
+
+  public static boolean isSupported() {
+    return SUPPORTED;
+  }
+
+  /* CPU time used by the calling thread plus every worker of the common pool between start() and stop(). Each worker's
+     share is the difference between its own two readings, so a worker that dies in between (the pool retires idle ones)
+     is left out rather than turning the sum negative, and one that starts in between counts from 0. Meant to be reused
+     for every run of a benchmark; start() and stop() don't allocate unless the set of workers changed. */
+  public static class Span {
+    private long[] ids = new long[0]; // The workers as of start()
+    private long[] startTimes = new long[0];
+    private long ownStartTime;
+    private boolean sawDeadWorker = false;
+
+    // Reads the workers first and the calling thread last, so that the loop over the workers isn't part of the span
+    public void start() {
+      long[] current = workerIds;
+      if(current != ids) {
+        ids = current;
+        if(startTimes.length != ids.length) {
+          startTimes = new long[ids.length];
+        }
+      }
+      for(int i = 0; i < ids.length; i++) {
+        startTimes[i] = THREADS.getThreadCpuTime(ids[i]); // -1 if the worker is dead
+      }
+      ownStartTime = THREADS.getCurrentThreadCpuTime();
+    }
+
+    // Reads the calling thread first and the workers after it, for the same reason. Returns the span's CPU time in ns.
+    public long stop() {
+      long cpuTime = THREADS.getCurrentThreadCpuTime() - ownStartTime;
+      for(int i = 0; i < ids.length; i++) {
+        long time = THREADS.getThreadCpuTime(ids[i]);
+        if(time < 0) {
+          sawDeadWorker = true;
+        } else if(startTimes[i] >= 0) {
+          cpuTime += time - startTimes[i];
+        }
+      }
+
+      long[] current = workerIds;
+      if(current != ids) { // Workers that started during the span were added at the end
+        for(long id : current) {
+          if(!contains(ids, id)) {
+            cpuTime += Math.max(0, THREADS.getThreadCpuTime(id));
+          }
+        }
+      }
+      return cpuTime;
+    }
+
+    // Forgets about workers that have died, if stop() saw any. Allocates, so call it outside of everything measured.
+    public void forgetDeadWorkers() {
+      if(sawDeadWorker) {
+        sawDeadWorker = false;
+        synchronized(CpuClock.class) {
+          workerIds = Arrays.stream(workerIds).filter(id -> THREADS.getThreadCpuTime(id) >= 0).toArray();
+        }
+      }
+    }
+
+    private static boolean contains(long[] values, long value) {
+      for(long v : values) {
+        if(v == value) {
+          return true;
+        }
+      }
+      return false;
+    }
+  }
+
+  // Called by the common pool whenever it needs another worker
+  @Override
+  public ForkJoinWorkerThread newThread(ForkJoinPool pool) {
+    ForkJoinWorkerThread worker = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+    synchronized(CpuClock.class) {
+      long[] ids = Arrays.copyOf(workerIds, workerIds.length + 1);
+      ids[ids.length - 1] = worker.threadId();
+      workerIds = ids;
+    }
+    return worker;
+  }
+
+  private static boolean enableCpuTime() {
+    if(!THREADS.isThreadCpuTimeSupported()) {
+      return false;
+    }
+    try {
+      THREADS.setThreadCpuTimeEnabled(true);
+    } catch(UnsupportedOperationException | SecurityException e) {
+      return false;
+    }
+    return THREADS.isThreadCpuTimeEnabled();
+  }
+}
@@ -0,0 +1,194 @@
+/*** Daemon.java **************************************************************\
+ * Author:         twisted_nematic57                                          *
+ * Date Created:   2026-10-18                                                 *
+ * Description:    Keeps one JVM running between runs and benchmarks. Listens *
+ *                 on a Unix domain socket for the same arguments Main takes, *
+ *                 runs them, and streams everything they print back to the   *
+ *                 client. Solution classes are reloaded whenever their class *
+ *                 files change, while the harness stays loaded and JIT-      *
+ *                 compiled.                                                  *
+\******************************************************************************/
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+public class Daemon {
+  // Socket that the daemon listens on and clients connect to. Relative to the working directory (normally inputs), so
+  // every checkout gets a daemon of its own. Set with -Dsolvekit.socket=path on both sides.
+  public static final Path SOCKET = Path.of(System.getProperty("solvekit.socket", "solvekit.sock"));
+
+  private static final String STOP_REQUEST = "stop";
+
+  /* Serves requests until a client asks the daemon to stop. A request is one line with the arguments that Main would
+     get, separated by spaces (e.g. "Codeforces.p1A-1B1000 --forks=3"), which is simple enough to send with any tool
+     that speaks Unix sockets. Requests are served one at a time, so that two benchmarks never compete for the CPU. */
+  public static void serve() throws IOException {
+    StdioMultiplexer.install(); // Requests print to their client while the hot reload watcher prints to the console
+    UnixDomainSocketAddress address = UnixDomainSocketAddress.of(SOCKET);
+    if(Files.exists(SOCKET)) {
+      boolean taken;
+      try {
+        SocketChannel.open(address).close(); // The daemon on the other end takes it as an empty request
+        taken = true;
+      } catch(IOException e) {
+        taken = false;
+      }
+      if(taken) {
+        throw new IllegalSpecifierException("A daemon is already listening on " + SOCKET + ".");
+      }
+      Files.delete(SOCKET); // Left behind by a daemon that didn't get to shut down
+    }
+
+    SolutionClassLoader.enableHotReload();
+    watchClassFiles();
+    try(ServerSocketChannel server = ServerSocketChannel.open(StandardProtocolFamily.UNIX)) {
+      server.bind(address);
+      System.out.println("SolveKit daemon listening on " + SOCKET + ". Send it requests with \"remote {args}\" and stop " +
+          "it with \"remote stop\".");
+
+      boolean running = true;
+      while(running) {
+        try(SocketChannel client = server.accept()) {
+          running = serve(client);
+        } catch(IOException e) {
+          System.out.println("Error: Lost the connection to a client. Error details:\n" + e.getMessage());
+        }
+      }
+    } finally {
+      Files.deleteIfExists(SOCKET);
+    }
+  }
+
+  /* Sends a request to the daemon and copies everything it prints to System.out as it arrives. Returns false if no
+     daemon is listening. */
+  public static boolean send(String[] args) throws IOException {
+    SocketChannel channel;
+    try {
+      channel = SocketChannel.open(UnixDomainSocketAddress.of(SOCKET));
+    } catch(IOException e) {
+      return false;
+    }
+
+    try(channel) {
+      OutputStream request = Channels.newOutputStream(channel);
+      request.write((String.join(" ", args) + "\n").getBytes(StandardCharsets.UTF_8));
+      request.flush();
+      Channels.newInputStream(channel).transferTo(System.out);
+      System.out.flush();
+    }
+    return true;
+  }
+
+  // Serves one client. Returns false if the client asked the daemon to stop.
+  private static boolean serve(SocketChannel client) throws IOException {
+    String request = new BufferedReader(new InputStreamReader(Channels.newInputStream(client), StandardCharsets.UTF_8)).readLine();
+    PrintStream reply = new PrintStream(Channels.newOutputStream(client), true, StandardCharsets.UTF_8);
+    if(request == null || request.isBlank()) {
+      return true;
+    }
+    String[] args = request.trim().split(" +");
+    System.out.println("Request: " + request.trim());
+
+    if(args[0].equals(STOP_REQUEST)) {
+      reply.println("SolveKit daemon stopped.");
+      return false;
+    }
+    if(args[0].equals("daemon") || args[0].equals("remote")) {
+      reply.println("Error: The daemon can't serve \"" + args[0] + "\" requests.");
+      return true;
+    }
+
+    // Everything the request prints goes to the client (solutions' output in run mode included); other threads, like
+    // the hot reload watcher, keep printing to the daemon's console.
+    StdioMultiplexer.setOut(reply);
+    StdioMultiplexer.setErr(reply);
+    try {
+      Main.handle(args);
+    } catch(Throwable e) { // Anything Main doesn't handle itself, e.g. a StackOverflowError from a solution
+      reply.println("\nError: The request failed. Error details:\n" + e);
+    } finally {
+      StdioMultiplexer.reset();
+      reply.flush();
+    }
+    return true;
+  }
+
+  /* Watches every directory on the classpath (e.g. target/classes) and the solutions directory (see
+     SolutionClassLoader), and reloads the solutions whenever a class file in them changes. Only solution classes can
+     be reloaded this way; changes to the harness itself need a new daemon. A request that comes in while the IDE is
+     still writing class files may see some of them half-written. */
+  private static void watchClassFiles() throws IOException {
+    WatchService watcher = FileSystems.getDefault().newWatchService();
+    List<Path> directories = new ArrayList<>();
+    for(String entry : System.getProperty("java.class.path").split(File.pathSeparator)) {
+      directories.add(Path.of(entry));
+    }
+    if(SolutionClassLoader.SOLUTIONS_DIR != null) {
+      directories.add(SolutionClassLoader.SOLUTIONS_DIR);
+    }
+    for(Path directory : directories) {
+      if(Files.isDirectory(directory)) {
+        watchTree(watcher, directory);
+      }
+    }
+
+    Thread thread = new Thread(() -> {
+      try {
+        while(true) {
+          WatchKey key = watcher.take();
+          boolean changed = false;
+          for(WatchEvent<?> event : key.pollEvents()) {
+            if(event.kind() == StandardWatchEventKinds.OVERFLOW) { // Events were lost, so assume the worst
+              changed = true;
+              continue;
+            }
+            Path file = ((Path) key.watchable()).resolve((Path) event.context());
+            if(event.kind() == StandardWatchEventKinds.ENTRY_CREATE && Files.isDirectory(file)) {
+              watchTree(watcher, file); // A new package
+            }
+            changed |= file.toString().endsWith(".class") || Files.isDirectory(file);
+          }
+          key.reset();
+
+          if(changed && SolutionClassLoader.reload()) {
+            System.out.println("Class files changed; solutions will be reloaded by the next request.");
+          }
+        }
+      } catch(InterruptedException | IOException e) {
+        System.out.println("Error: Stopped watching the class files, so solutions won't be reloaded anymore. Error details:\n" + e);
+      }
+    }, "solvekit-hot-reload");
+    thread.setDaemon(true);
+    thread.start();
+  }
+
+  // WatchService only watches single directories, so every subdirectory gets registered on its own
+  private static void watchTree(WatchService watcher, Path root) throws IOException {
+    try(Stream<Path> directories = Files.walk(root)) {
+      for(Path directory : directories.filter(Files::isDirectory).toList()) {
+        directory.register(watcher, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY,
+            StandardWatchEventKinds.ENTRY_DELETE);
+      }
+    }
+  }
+}
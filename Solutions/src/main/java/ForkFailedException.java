@@ -0,0 +1,13 @@
+/*** ForkFailedException.java *************************************************\
+ * Author:         twisted_nematic57                                          *
+ * Date Created:   2026-10-18                                                 *
+ * Description:    Defines an exception that is thrown when a child JVM of a  *
+ *                 forked benchmark can't be started, crashes, or exits       *
+ *                 before it has sent back its results.                       *
+\******************************************************************************/
+
+public class ForkFailedException extends RuntimeException {
+  public ForkFailedException(String message, Throwable cause) {
+    super(message, cause);
+  }
+}
@@ -0,0 +1,202 @@
+/*** ForkedBenchmark.java *****************************************************\
+ * Author:         twisted_nematic57                                          *
+ * Date Created:   2026-10-17                                                 *
+ * Description:    Runs a benchmark in several child JVMs, one after another, *
+ *                 so that static state, class loading and JIT profiles can't *
+ *                 carry over from one fork to the next. Children stream      *
+ *                 their runtimes (and CPU times and allocations) back to the *
+ *                 parent over their stdout pipe.                             *
+\******************************************************************************/
+
+import java.io.BufferedInputStream;
+import java.io.BufferedReader;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import jdk.jfr.Recording;
+
+public class ForkedBenchmark {
+  // Runs `forks` child JVMs that each benchmark the solution for `iterations` iterations. Returns one result per fork.
+  // If jfrPrefix isn't null, each fork records itself with Flight Recorder and dumps the recording to
+  // {jfrPrefix}_fork{N}.jfr.
+  public static BenchmarkResult[] run(String platformName, SolutionSpecifier thisSolution, int iterations, int forks,
+                                      String jfrPrefix) throws InterruptedException {
+    BenchmarkResult[] results = new BenchmarkResult[forks];
+    for(int fork = 0; fork < forks; fork++) { // Sequentially, so that the forks don't compete for CPU time
+      System.out.println("Fork " + (fork+1) + "/" + forks + "...");
+
+      List<String> command = childCommand();
+      command.add(ForkedBenchmark.class.getName());
+      command.add(platformName);
+      command.add(thisSolution.name());
+      command.add(Integer.toString(thisSolution.test()));
+      command.add(Integer.toString(iterations));
+      if(jfrPrefix != null) {
+        command.add(jfrPrefix + "_fork" + (fork+1) + ".jfr");
+      }
+
+      Process child;
+      try {
+        child = new ProcessBuilder(command).start();
+      } catch(IOException e) {
+        throw new ForkFailedException("Fork " + (fork+1) + " couldn't be started: " + e.getMessage(), e);
+      }
+      ErrorTail errors = new ErrorTail(child.getErrorStream());
+
+      try(DataInputStream pipe = new DataInputStream(new BufferedInputStream(child.getInputStream()))) {
+        int warmupIterations = pipe.readInt();
+        int steadyStateStart = pipe.readInt();
+        long[] runtimes = new long[pipe.readInt()];
+        for(int i = 0; i < runtimes.length; i++) {
+          runtimes[i] = pipe.readLong();
+        }
+        long[] cpuTimes = readOptional(pipe, runtimes.length);
+        long[] allocations = readOptional(pipe, runtimes.length);
+        results[fork] = BenchmarkResult.fromRuntimes(runtimes, cpuTimes, allocations, warmupIterations,
+            steadyStateStart);
+      } catch(IOException e) { // The child died before sending everything
+        throw failure(fork, child, errors, " before reporting its results", e);
+      }
+
+      if(child.waitFor() != 0) {
+        throw failure(fork, child, errors, "", null);
+      }
+      errors.join();
+    }
+
+    return results;
+  }
+
+  // Waits for a failed child to exit and describes why it failed: its exit code and the end of its error output
+  private static ForkFailedException failure(int fork, Process child, ErrorTail errors, String when, IOException cause)
+      throws InterruptedException {
+    int exitCode = child.waitFor();
+    String message = "Fork " + (fork+1) + " exited with code " + exitCode + when + ".";
+    List<String> lines = errors.join();
+    message += lines.isEmpty() ? " It wrote nothing to its error output."
+        : " The last " + lines.size() + " lines of its error output:\n  " + String.join("\n  ", lines);
+    return new ForkFailedException(message, cause);
+  }
+
+  /* Echoes the error output of a child to our console as it comes in (so e.g. its stack traces show up as usual), while
+     remembering the last few lines so that a failure can be reported with its cause. */
+  private static class ErrorTail {
+    private static final int KEPT_LINES = 20;
+
+    private final ArrayDeque<String> lines = new ArrayDeque<>();
+    private final Thread reader;
+
+    ErrorTail(InputStream errorStream) {
+      reader = Thread.ofPlatform().daemon().name("fork-stderr").start(() -> {
+        try(BufferedReader in = new BufferedReader(new InputStreamReader(errorStream))) {
+          for(String line = in.readLine(); line != null; line = in.readLine()) {
+            System.err.println(line);
+            synchronized(lines) {
+              if(lines.size() == KEPT_LINES) {
+                lines.removeFirst();
+              }
+              lines.addLast(line);
+            }
+          }
+        } catch(IOException e) {
+          // The child is gone; whatever was read so far is all there is
+        }
+      });
+    }
+
+    // Waits until the child's error output has been read to its end, then returns its last lines
+    List<String> join() throws InterruptedException {
+      reader.join();
+      synchronized(lines) {
+        return new ArrayList<>(lines);
+      }
+    }
+  }
+
+  // Builds the command line that starts a JVM like this one: same java binary, same JVM arguments, same classpath.
+  private static List<String> childCommand() {
+    List<String> command = javaCommand();
+    command.add("-cp");
+    command.add(System.getProperty("java.class.path"));
+    return command;
+  }
+
+  /* The java binary of this JVM and its JVM arguments, without a classpath. Debugger and agent arguments are left out,
+     since a second JVM can't attach to the same debugger port. */
+  static List<String> javaCommand() {
+    List<String> command = new ArrayList<>();
+    command.add(ProcessHandle.current().info().command()
+        .orElse(Path.of(System.getProperty("java.home"), "bin", "java").toString()));
+
+    for(String arg : ManagementFactory.getRuntimeMXBean().getInputArguments()) {
+      if(!arg.startsWith("-agentlib:") && !arg.startsWith("-javaagent:") && !arg.startsWith("-Xrunjdwp")) {
+        command.add(arg);
+      }
+    }
+    return command;
+  }
+
+  /* Entry point of a child JVM. Args: {Platform} {Specifier} {test #} {iterations} [{Flight Recorder dump file}]
+     The child's real stdout is the pipe to the parent, so System.out is pointed somewhere else before anything (e.g.
+     the iteration log) gets a chance to write to it. Runtimes are only sent once the benchmark is done, so writing
+     them can't disturb the measurements. Public, so that launchers that predate instance main methods can start it
+     too. */
+  public static void main(String[] args) throws Exception {
+    CpuClock.install(); // Before anything starts the common pool
+    DataOutputStream pipe = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(FileDescriptor.out)));
+    System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+
+    PlatformHandler handler = Main.HANDLERS.get(args[0]).get();
+    SolutionSpecifier thisSolution = new SolutionSpecifier(args[1], Integer.parseInt(args[2]));
+    Recording recording = args.length > 4 ? BenchmarkEvents.startRecording() : null;
+    BenchmarkResult result = handler.benchmarkSolution(thisSolution, Integer.parseInt(args[3]), true, BenchmarkOptions.defaults());
+    if(recording != null) {
+      recording.stop();
+      recording.dump(Path.of(args[4]));
+      recording.close();
+    }
+
+    pipe.writeInt(result.warmupIterations());
+    pipe.writeInt(result.steadyStateStart());
+    pipe.writeInt(result.runtimes().length);
+    for(long runtime : result.runtimes()) {
+      pipe.writeLong(runtime);
+    }
+    writeOptional(pipe, result.cpuTimes());
+    writeOptional(pipe, result.allocations());
+    pipe.flush();
+  }
+
+  // Sends values that only exist if the child tracked them: a boolean saying whether they follow, then the values
+  private static void writeOptional(DataOutputStream pipe, long[] values) throws IOException {
+    pipe.writeBoolean(values != null);
+    if(values != null) {
+      for(long value : values) {
+        pipe.writeLong(value);
+      }
+    }
+  }
+
+  private static long[] readOptional(DataInputStream pipe, int length) throws IOException {
+    if(!pipe.readBoolean()) {
+      return null;
+    }
+    long[] values = new long[length];
+    for(int i = 0; i < length; i++) {
+      values[i] = pipe.readLong();
+    }
+    return values;
+  }
+}
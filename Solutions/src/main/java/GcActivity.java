@@ -0,0 +1,65 @@
+/*** GcActivity.java **********************************************************\
+ * Author:         twisted_nematic57                                          *
+ * Date Created:   2026-10-17                                                 *
+ * Description:    Tallies which runs of one section of a benchmark (warmup   *
+ *                 or steady state) overlapped a garbage collection, how much *
+ *                 GC time they overlapped, and the runtimes of the runs that *
+ *                 didn't.                                                    *
+\******************************************************************************/
+
+public class GcActivity {
+  public static final long NO_GC = -1; // GC time of a run that no collection overlapped
+
+  private final RuntimeHistogram gcFree = new RuntimeHistogram(); // Runtimes of the runs that no collection overlapped
+  private long runs = 0;
+  private long hits = 0; // Runs that overlapped at least one collection
+  private long gcMillis = 0; // Total time spent collecting during those runs
+
+  // Builds the tally of runs `from` (inclusive) to `to` (exclusive) out of kept runtimes and their GC times.
+  public static GcActivity of(long[] runtimes, long[] gcTimes, int from, int to) {
+    GcActivity activity = new GcActivity();
+    for(int i = from; i < to; i++) {
+      activity.record(runtimes[i], gcTimes[i]);
+    }
+    return activity;
+  }
+
+  // Records one run. gcMillis is the GC time that overlapped it, or NO_GC if no collection did. Does not allocate.
+  public void record(long runtime, long gcMillis) {
+    runs++;
+    if(gcMillis == NO_GC) {
+      gcFree.record(runtime);
+    } else {
+      hits++;
+      this.gcMillis += gcMillis;
+    }
+  }
+
+  // Adds everything recorded here to `target`, then clears this tally.
+  public void moveTo(GcActivity target) {
+    gcFree.moveTo(target.gcFree);
+    target.runs += runs;
+    target.hits += hits;
+    target.gcMillis += gcMillis;
+    runs = 0;
+    hits = 0;
+    gcMillis = 0;
+  }
+
+  public RuntimeHistogram getGcFree() {
+    return gcFree;
+  }
+
+  public long getRuns() {
+    return runs;
+  }
+
+  public long getHits() {
+    return hits;
+  }
+
+  // GC time that overlapped the runs, in ms. The JVM only reports GC time in whole milliseconds per collector.
+  public long getGcMillis() {
+    return gcMillis;
+  }
+}
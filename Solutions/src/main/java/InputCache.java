@@ -0,0 +1,166 @@
+/*** InputCache.java **********************************************************\
+ * Author:         twisted_nematic57                                          *
+ * Date Created:   2026-10-18                                                 *
+ * Description:    Keeps input files memory-mapped for the whole life of the  *
+ *                 JVM, so that every run and every test of a solution reads  *
+ *                 its input straight from the page cache instead of from a   *
+ *                 copy on the heap. Least recently used files are dropped    *
+ *                 once the mapped files exceed a byte budget.                *
+\******************************************************************************/
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+
+public class InputCache {
+  // Most bytes that may stay mapped at once. Set with -Dsolvekit.inputCache=512m (units: k, m, g; a bare number is
+  // bytes). A file that's bigger than the whole budget is still mapped, but not kept.
+  private static final long DEFAULT_BUDGET = 1L << 30;
+  private static final long BUDGET = parseBudget(System.getProperty("solvekit.inputCache"));
+
+  // A mapped file, along with what the file looked like when it was mapped
+  private record Entry(FileTime modified, long size, MappedByteBuffer contents) { }
+
+  // Least recently used first
+  private static final LinkedHashMap<Path, Entry> FILES = new LinkedHashMap<>(16, 0.75f, true);
+  private static long mappedBytes = 0;
+
+  /* Contents of the file at `path`, mapped read-only. The file is only mapped again if it changed (its modification
+     time or size differ) since it was last mapped. Every caller gets its own view of the contents, with its own
+     position, so callers can't disturb each other's reads. */
+  public static synchronized ByteBuffer get(Path path) throws IOException {
+    path = path.toAbsolutePath().normalize();
+    BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+    Entry entry = FILES.get(path);
+    if(entry == null || !entry.modified().equals(attributes.lastModifiedTime()) || entry.size() != attributes.size()) {
+      if(entry != null) { // Stale
+        FILES.remove(path);
+        mappedBytes -= entry.size();
+      }
+      entry = new Entry(attributes.lastModifiedTime(), attributes.size(), map(path, attributes.size()));
+      if(entry.size() <= BUDGET) {
+        FILES.put(path, entry);
+        mappedBytes += entry.size();
+        evict();
+      }
+    }
+    return entry.contents().duplicate();
+  }
+
+  // Stream over the file at `path` that reads straight from its mapping
+  public static BufferInputStream open(Path path) throws IOException {
+    return new BufferInputStream(get(path));
+  }
+
+  /* Drops least recently used files until the rest fit in the budget. There's no way to unmap a file on demand, so a
+     dropped file stays mapped until no one holds a view of it anymore and the view gets garbage collected; until then
+     it only takes up address space and page cache, not heap. */
+  private static void evict() {
+    Iterator<Entry> eldest = FILES.values().iterator();
+    while(mappedBytes > BUDGET && eldest.hasNext()) {
+      mappedBytes -= eldest.next().size();
+      eldest.remove();
+    }
+  }
+
+  // The file's pages are read in right away, so that the first timed run doesn't have to fault its input in.
+  private static MappedByteBuffer map(Path path, long size) throws IOException {
+    if(size > Integer.MAX_VALUE) { // The most a single mapping can hold
+      throw new IOException(path + " is too large to be used as input (" + size + " bytes, at most 2 GiB are supported)");
+    }
+    try(FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      MappedByteBuffer contents = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+      contents.load();
+      return contents;
+    }
+  }
+
+  // "512m" -> 536870912. This runs while the class gets initialized, where an exception would only surface as an
+  // ExceptionInInitializerError, so a bad value is reported and replaced by the default instead.
+  private static long parseBudget(String value) {
+    if(value == null) {
+      return DEFAULT_BUDGET;
+    }
+    try {
+      String lower = value.trim().toLowerCase();
+      long unit = switch(lower.isEmpty() ? ' ' : lower.charAt(lower.length() - 1)) {
+        case 'k' -> 1L << 10;
+        case 'm' -> 1L << 20;
+        case 'g' -> 1L << 30;
+        default -> 1;
+      };
+      return Long.parseLong(unit == 1 ? lower : lower.substring(0, lower.length() - 1)) * unit;
+    } catch(NumberFormatException e) {
+      System.out.println("Warning: Invalid value for -Dsolvekit.inputCache: \"" + value + "\" (must look like 512m). " +
+          "Using the default of 1g.");
+      return DEFAULT_BUDGET;
+    }
+  }
+
+  /* InputStream over a ByteBuffer, without copying it. Unlike ByteArrayInputStream, none of its methods are
+     synchronized, since every run has a stream of its own. mark() and reset() work like they do there: reset() goes
+     back to the start unless something was marked. */
+  public static final class BufferInputStream extends InputStream {
+    private final ByteBuffer buffer;
+
+    // Reads `buffer` from its position on, through a view of its own, so the buffer itself never moves
+    public BufferInputStream(ByteBuffer buffer) {
+      this.buffer = buffer.duplicate();
+      this.buffer.mark();
+    }
+
+    @Override
+    public int read() {
+      return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) {
+      if(len == 0) {
+        return 0;
+      }
+      if(!buffer.hasRemaining()) {
+        return -1;
+      }
+      len = Math.min(len, buffer.remaining());
+      buffer.get(b, off, len);
+      return len;
+    }
+
+    @Override
+    public long skip(long n) {
+      int skipped = (int) Math.max(0, Math.min(n, buffer.remaining()));
+      buffer.position(buffer.position() + skipped);
+      return skipped;
+    }
+
+    @Override
+    public int available() {
+      return buffer.remaining();
+    }
+
+    @Override
+    public boolean markSupported() {
+      return true;
+    }
+
+    @Override
+    public void mark(int readlimit) {
+      buffer.mark();
+    }
+
+    @Override
+    public void reset() {
+      buffer.reset();
+    }
+  }
+}
@@ -0,0 +1,79 @@
+/*** InvokerFactory.java ******************************************************\
+ * Author:         twisted_nematic57                                          *
+ * Date Created:   2026-10-17                                                 *
+ * Description:    Resolves a solution's main method into a SolutionInvoker   *
+ *                 (or a StringArrayMain) with LambdaMetafactory. This        *
+ *                 replaces Method.invoke, which boxes arguments and adds     *
+ *                 reflective overhead to every timed call.                   *
+\******************************************************************************/
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+
+public class InvokerFactory {
+  // Solutions that take their input as an array of lines (e.g. Advent of Code). The input is not bound ahead of time
+  // because handlers give each call its own copy of it.
+  @FunctionalInterface
+  public interface StringArrayMain {
+    void main(String[] input) throws Exception;
+  }
+
+  // Resolves `public static void main()` (Project Euler and all stdin-based platforms)
+  public static SolutionInvoker forNoArgMain(Class<?> solutionClass) throws ReflectiveOperationException {
+    MethodHandle factory = linkMain(solutionClass, MethodType.methodType(void.class), MethodType.methodType(SolutionInvoker.class),
+        "invoke", MethodType.methodType(void.class));
+    try {
+      return (SolutionInvoker) factory.invokeExact();
+    } catch(Throwable e) {
+      throw new ReflectiveOperationException("Couldn't bind the main method of " + solutionClass.getName(), e);
+    }
+  }
+
+  // Resolves `public static void main(int)` (LeetCode) and binds the test number to it, so that no boxing happens when
+  // the solution is called.
+  public static SolutionInvoker forIntMain(Class<?> solutionClass, int test) throws ReflectiveOperationException {
+    MethodHandle factory = linkMain(solutionClass, MethodType.methodType(void.class, int.class),
+        MethodType.methodType(SolutionInvoker.class, int.class), "invoke", MethodType.methodType(void.class));
+    try {
+      return (SolutionInvoker) factory.invokeExact(test);
+    } catch(Throwable e) {
+      throw new ReflectiveOperationException("Couldn't bind the main method of " + solutionClass.getName(), e);
+    }
+  }
+
+  // Resolves `public static void main(String[])` (Advent of Code)
+  public static StringArrayMain forStringArrayMain(Class<?> solutionClass) throws ReflectiveOperationException {
+    MethodType mainType = MethodType.methodType(void.class, String[].class);
+    MethodHandle factory = linkMain(solutionClass, mainType, MethodType.methodType(StringArrayMain.class), "main", mainType);
+    try {
+      return (StringArrayMain) factory.invokeExact();
+    } catch(Throwable e) {
+      throw new ReflectiveOperationException("Couldn't bind the main method of " + solutionClass.getName(), e);
+    }
+  }
+
+  /* Spins up a class implementing a functional interface whose single method calls the solution's main method
+     directly, the same way javac compiles a method reference. Returns the factory for that class: calling it with
+     the values of any bound arguments (the leading parameters of mainType) yields an instance of the interface.
+
+     LambdaMetafactory doesn't care about checked exceptions, so the interface methods may declare whatever the
+     solutions throw. */
+  private static MethodHandle linkMain(Class<?> solutionClass, MethodType mainType, MethodType factoryType,
+                                       String interfaceMethod, MethodType interfaceType) throws ReflectiveOperationException {
+    // Solutions loaded by a SolutionClassLoader have to be bound from within that loader (see SolutionClassLoader.lookup())
+    MethodHandles.Lookup lookup = solutionClass.getClassLoader() instanceof SolutionClassLoader loader
+        ? loader.lookup() : MethodHandles.lookup();
+    MethodHandle solutionMain = lookup.findStatic(solutionClass, "main", mainType);
+
+    try {
+      CallSite site = LambdaMetafactory.metafactory(lookup, interfaceMethod, factoryType, interfaceType,
+          solutionMain, interfaceType);
+      return site.getTarget();
+    } catch(Exception e) {
+      throw new ReflectiveOperationException("Couldn't bind the main method of " + solutionClass.getName(), e);
+    }
+  }
+}
@@ -3,16 +3,74 @@
  * Date Created:   2025-11-26                                                 *
  * Description:    Sets up the solution runner by recognizing the platform    *
  *                 type and setting inputs. Runs, tests, or benchmarks        *
- *                 solutions using reflection.                                *
+ *                 solutions through invokers resolved by InvokerFactory.     *
 \******************************************************************************/
 
 import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Path;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
+import java.util.function.Supplier;
+import jdk.jfr.Recording;
 
 public class Main {
+  // Each platform's handler is created on demand, because handlers hold the input of the solution they're running.
+  static final Map<String, Supplier<PlatformHandler>> HANDLERS = Map.of(
+      "AdventOfCode", AdventOfCodePlatformHandler::new,
+      "LeetCode", LeetCodePlatformHandler::new,
+      "ProjectEuler", ProjectEulerPlatformHandler::new,
+      "Codeforces", CodeforcesPlatformHandler::new,
+      "AtCoder", AtCoderPlatformHandler::new,
+      "SPOJ", SPOJPlatformHandler::new,
+      "UVa", UVaPlatformHandler::new
+  );
+
   static void main(String[] args) {
+    CpuClock.install(); // Lets benchmarks count the CPU time of parallel streams; must happen before they're used
+    // Daemon mode: "daemon" keeps this JVM running and serves the requests that "remote {args}" sends it (see Daemon)
+    if(args.length > 0 && args[0].equals("daemon")) {
+      daemon();
+      return;
+    }
+    if(args.length > 0 && args[0].equals("remote")) {
+      remote(Arrays.copyOfRange(args, 1, args.length));
+      return;
+    }
+    // Train mode: "train [{Platform}.{Specifier}-Z]" builds a startup cache and a launcher that uses it (see StartupCache)
+    if(args.length > 0 && args[0].equals("train")) {
+      train(args);
+      return;
+    }
+    handle(args);
+  }
+
+  // Everything that a single invocation can do, whether it came from the command line or from a client of the daemon
+  static void handle(String[] args) {
+    // Compare mode: "compare {baseline} {candidate}", for results files saved with S
+    if(args.length > 0 && args[0].equals("compare")) {
+      compare(args);
+      return;
+    }
+    // Suite mode: "suite {pattern}... [BN] [options]" benchmarks every solution and test that matches (see BenchmarkSuite)
+    if(args.length > 0 && args[0].equals("suite")) {
+      suite(args);
+      return;
+    }
+    // Parallel mode: "parallel {pattern}..." runs every solution and test that matches once, all at the same time
+    if(args.length > 0 && args[0].equals("parallel")) {
+      parallel(args);
+      return;
+    }
+    // History mode: "history [{Platform}[.{Specifier}[-Z]]]" lists past benchmarks of everything that matches
+    if(args.length > 0 && args[0].equals("history")) {
+      history(args);
+      return;
+    }
+
     // Arg (singular) will look like this: "{Platform}.{Specifier}-Z[BN[...][S]]"
     //  * {Platform} is a valid Java package name. It is the name of the platform that hosted the programming problem
     //    to which the solution is implemented. Supported values: "AdventOfCode", "LeetCode", "ProjectEuler",
@@ -21,27 +79,21 @@ public class Main {
     //    must execute. It should be the same as the identifier for the problem that the solution is written for.
     //  * Z is the test number (always 1 digit, 0-9)
     //  * If the letter B is present after Z, we need to benchmark the solution N times, where N is an integer in the
-    //    range [0, (2^31)-1].
-    //  * If the letter S is at the end and B is also present, benchmark timing data will be saved to a CSV in ./inputs.
+    //    range [0, (2^31)-1]. If N is left out, the benchmark is adaptive: it keeps going until the confidence interval
+    //    of the steady-state median is narrow enough, or until its time budget runs out.
+    //  * If the letter S is at the end and B is also present, benchmark timing data will be saved to a CSV in ./inputs
+    //    (or to a binary file, with --format=binary).
+    // Any further args are benchmark options (see BenchmarkOptions), e.g. "--precision=1% --confidence=95% --budget=60s"
+    // or "--calibrate".
 
-    final boolean saveBenchResultsToCSV;
-    if(args[0].charAt(args[0].length() - 1) == 'S') { // We must save benchmark results to CSV if there is an S at the end of the arg
-      saveBenchResultsToCSV = true;
+    final boolean saveBenchResults;
+    if(args[0].charAt(args[0].length() - 1) == 'S') { // We must save benchmark results if there is an S at the end of the arg
+      saveBenchResults = true;
       args[0] = args[0].substring(0, args[0].length()-1); // Chop off the S to make code down the line look a little cleaner
     } else {
-      saveBenchResultsToCSV = false;
+      saveBenchResults = false;
     }
 
-    Map<String, PlatformHandler> handlers = Map.of(
-        "AdventOfCode", new AdventOfCodePlatformHandler(),
-        "LeetCode", new LeetCodePlatformHandler(),
-        "ProjectEuler", new ProjectEulerPlatformHandler(),
-        "Codeforces", new CodeforcesPlatformHandler(),
-        "AtCoder", new AtCoderPlatformHandler(),
-        "SPOJ", new SPOJPlatformHandler(),
-        "UVa", new UVaPlatformHandler()
-    );
-
     final int testNum;
     final boolean benchmarking;
     final String platformName;
@@ -60,18 +112,17 @@ public class Main {
       return;
     }
 
-    PlatformHandler handler = handlers.get(platformName);
-
     try {
       // Input validation
       if(testNum < 0 || testNum > 9) { // Is the test # in [0, 9]?
         throw new IllegalSpecifierException("Invalid test number. Test numbers must be integers in the range [0, 9].");
       }
 
-      if(!handlers.containsKey(platformName)) { // Is the requested platform invalid?
+      if(!HANDLERS.containsKey(platformName)) { // Is the requested platform invalid?
         throw new IllegalSpecifierException("Invalid platform name. Platform name must be one of the following:\n" +
-            String.join(", ", handlers.keySet())); // Print all valid platforms
+            String.join(", ", HANDLERS.keySet())); // Print all valid platforms
       }
+      PlatformHandler handler = HANDLERS.get(platformName).get();
 
       SolutionSpecifier thisSolution = new SolutionSpecifier(
           args[0].substring(args[0].indexOf(".") + 1, args[0].indexOf("-")),
@@ -80,49 +131,140 @@ public class Main {
 
       // Solution running
       if(!benchmarking) { // We are running the solution only once
-        long runtime = handler.runSolution(thisSolution);
+        // If the test has an expected output, the solution's output is captured on its way to the console to check it
+        byte[] expectedOutput = handler.expectedOutput(thisSolution);
+        OutputCapture capture = expectedOutput != null ? new OutputCapture(expectedOutput) : null;
+        PrintStream console = StdioMultiplexer.out();
+        long runtime;
+        try {
+          if(capture != null) {
+            StdioMultiplexer.setOut(capture.tee(console));
+          }
+          runtime = handler.runSolution(thisSolution);
+        } finally {
+          StdioMultiplexer.setOut(console);
+        }
         System.out.println("\n---------------------------------------------------");
         System.out.printf("Runtime: %.1f μs / %.3f ms", UnitConverter.ns_us(runtime), UnitConverter.ns_ms(runtime));
+        if(capture != null) {
+          capture.endRun();
+          System.out.print("\nVerdict: " + capture.verdict().describe());
+        }
       } else { // Benchmarking
         /* Extract the number of benchmarking iterations from the command line arg:
            The number will always occur 2 spaces after the dash and ends at the end of the arg because we chopped
            the S off earlier, if it was there to begin with.
          */
-        int benchmarkingIterations = Integer.parseInt(args[0].substring(args[0].indexOf("-")+3));
-        if(benchmarkingIterations <= 2) { // Statistical calculation code glitches if there are less than 3 data points
-          throw new IllegalSpecifierException("Benchmarking iterations must be > 2");
-        }
+        String benchmarkingIterationsArg = args[0].substring(args[0].indexOf("-")+3);
+        BenchmarkOptions options = BenchmarkOptions.parse(Arrays.copyOfRange(args, 1, args.length));
 
-        long[] benchmarkRuntimes = handler.benchmarkSolution(thisSolution, benchmarkingIterations);
+        final long now = Instant.now().getEpochSecond(); // Current Unix timestamp, for the history and file names
+        final BenchmarkResult[] benchmarkResults; // Everything that was measured, for the results file
+        final Statistics steadyRuns; // Steady-state statistics, for the history
+        Recording recording = null; // Flight Recorder recording of the benchmark, if --jfr was given
+        if(options.forks() > 0) { // Benchmark in child JVMs
+          if(benchmarkingIterationsArg.isEmpty()) {
+            throw new IllegalSpecifierException("Forked benchmarks need a fixed number of iterations per fork.");
+          }
+          int benchmarkingIterations = Integer.parseInt(benchmarkingIterationsArg);
+          if(benchmarkingIterations <= 2) { // Statistical calculation code glitches if there are less than 3 data points
+            throw new IllegalSpecifierException("Benchmarking iterations must be > 2");
+          }
 
-        System.out.println("Computing statistics...");
+          BenchmarkResult[] forkResults = ForkedBenchmark.run(platformName, thisSolution, benchmarkingIterations,
+              options.forks(), options.jfr() ? "runtimes_" + now : null); // Every fork records itself
+          benchmarkResults = forkResults;
 
-        // Make an array of length 80% of benchmarkRuntimes
-        long[] benchmarkRuntimes_last80p = new long[(int)(Math.ceil(benchmarkRuntimes.length*0.8))];
-        // Copy the last 80% of elements of benchmarkRuntimes to benchmarkRuntimes_last80p
-        System.arraycopy(benchmarkRuntimes, (int)(Math.floor(benchmarkRuntimes.length*0.2)), benchmarkRuntimes_last80p, 0, benchmarkRuntimes_last80p.length);
+          System.out.println("Computing statistics...");
+          System.out.println("\nBenchmarking results for solution " + platformName + "." + thisSolution.name() +
+              " (" + options.forks() + " forks of " + benchmarkingIterations + " iterations):");
+          steadyRuns = new Statistics(BenchmarkResult.pooledSteadyRuntimes(forkResults));
+          BenchmarkReporter.showForkResults(forkResults, steadyRuns);
+        } else {
+          BenchmarkResult result;
+          if(options.jfr()) {
+            recording = BenchmarkEvents.startRecording();
+          }
+          if(benchmarkingIterationsArg.isEmpty()) { // No N given, so let the confidence interval decide when to stop
+            result = handler.benchmarkSolutionAdaptively(thisSolution, options, saveBenchResults);
+          } else {
+            int benchmarkingIterations = Integer.parseInt(benchmarkingIterationsArg);
+            if(benchmarkingIterations <= 2) { // Statistical calculation code glitches if there are less than 3 data points
+              throw new IllegalSpecifierException("Benchmarking iterations must be > 2");
+            }
+            result = handler.benchmarkSolution(thisSolution, benchmarkingIterations, saveBenchResults, options);
+          }
+          if(recording != null) {
+            recording.stop();
+          }
+          benchmarkResults = new BenchmarkResult[] {result}; // Runtimes are only kept if they're going to be saved
+
+          System.out.println("Computing statistics...");
+
+          // Compute statistical variables on the runs before and after the warmup ended
+          Statistics warmupRuns = result.warmupStatistics();
+          steadyRuns = result.steadyStatistics();
+
+          // Repeat info about the solution being benchmarked
+          System.out.println("\nBenchmarking results for solution " + platformName + "." + thisSolution.name() + ":");
+          if(options.isolate()) {
+            System.out.println("Every run loaded a fresh copy of the solution (--isolate), so all runs are cold runs.");
+          }
+          if(options.sink() != null) {
+            System.out.println("Stdout went to a " + (options.sink().equals(OutputSink.PIPE) ? "pipe" : "tmpfs file") +
+                " (--sink), so runtimes include the time spent on output, which is also shown on its own below.");
+          }
+          if(!result.reachedSteadyState()) {
+            System.out.printf("Warning: JIT compilation never stopped or runtimes never settled, so no steady state was " +
+                "detected. Only the %d of %d runs (%.1f%%) after the latest JIT activity are shown on the right; consider " +
+                "running more iterations.\n", steadyRuns.getRuns(), result.iterations(),
+                100.0*steadyRuns.getRuns() / result.iterations());
+          }
 
-        // Compute statistical variables on our runtime data
-        Statistics allRuns = new Statistics(benchmarkRuntimes);
-        Statistics last80p = new Statistics(benchmarkRuntimes_last80p);
+          // Print the pretty stats table
+          BenchmarkReporter.showBenchmarkResults(result, warmupRuns, steadyRuns);
 
-        // Repeat info about the solution being benchmarked
-        System.out.println("\nBenchmarking results for solution " + platformName + "." + thisSolution.name() + ":");
+          // Measure the harness overhead after the benchmark, so that the real benchmark's JIT profile stays clean
+          if(options.calibrate()) {
+            System.out.println("\nCalibrating harness overhead...");
+            BenchmarkResult calibration = handler.calibrate(thisSolution);
+            BenchmarkReporter.showOverheadSubtractedResults(warmupRuns, steadyRuns, result.reachedSteadyState(), calibration);
+          }
+        }
 
-        // Print the pretty stats table
-        BenchmarkReporter.showBenchmarkResults(allRuns, last80p);
+        // Add a summary of this benchmark to the history (see "history" below)
+        try {
+          BenchmarkHistory.append(BenchmarkHistory.Entry.of(now, platformName, thisSolution, steadyRuns));
+        } catch(IOException e) {
+          System.out.println("Error: Couldn't add this benchmark to the history. Error details:\n" + e.getMessage() + "\n");
+        }
 
-        // If we're supposed to save the data to a CSV, then save it
+        // If we're supposed to save the data, then save it. The current Unix timestamp in the filename avoids conflicts.
         try {
-          if(saveBenchResultsToCSV) {
-            long now = Instant.now().getEpochSecond(); // Current Unix timestamp
-            BenchmarkReporter.saveToCSV(benchmarkRuntimes, now);
-            System.out.println("\nBenchmark results saved to runtimes_" + now + ".csv in inputs directory.");
+          if(saveBenchResults) {
+            String filename;
+            if(options.binaryResults()) {
+              filename = "runtimes_" + now + ".skrt";
+              ResultsFile.writeBinary(Path.of(filename), ResultsFile.Header.describe(platformName, thisSolution, now), benchmarkResults);
+            } else {
+              filename = "runtimes_" + now + ".csv";
+              ResultsFile.writeCSV(Path.of(filename), benchmarkResults);
+            }
+            System.out.println("\nBenchmark results saved to " + filename + " in inputs directory.");
+          }
+          if(recording != null) {
+            recording.dump(Path.of("runtimes_" + now + ".jfr"));
+            recording.close();
+            System.out.println("\nFlight recording saved to runtimes_" + now + ".jfr in inputs directory.");
+          } else if(options.jfr()) {
+            System.out.println("\nFlight recordings saved to runtimes_" + now + "_fork*.jfr in inputs directory.");
           }
         } catch (IOException e) {
-          System.out.println("Error: Couldn't save benchmark results to CSV. Error details:\n" + e.getMessage() + "\n");
+          System.out.println("Error: Couldn't save benchmark results. Error details:\n" + e.getMessage() + "\n");
         }
       }
+    } catch(ForkFailedException e) {
+      System.out.println("\nError: A forked benchmark JVM failed.\n\nDetails:\n" + e.getMessage());
     } catch(IOException e) {
       System.out.println("\nError: The input file couldn't be opened. Does it exist?\n" + e.getMessage());
     } catch(IllegalSpecifierException e) {
@@ -133,4 +275,185 @@ public class Main {
           " solution source code window and try again.\n\nError details:\n" + e.getMessage());
     }
   }
+
+  private static void daemon() {
+    try {
+      Daemon.serve();
+    } catch(IOException e) {
+      System.out.println("\nError: The daemon couldn't listen on " + Daemon.SOCKET + ".\n" + e.getMessage());
+    } catch(IllegalSpecifierException e) {
+      System.out.println("\nError: " + e.getMessage());
+    }
+  }
+
+  // Hands the args to the daemon, or handles them in this JVM if no daemon is running
+  private static void remote(String[] args) {
+    try {
+      if(args.length == 0) {
+        throw new IllegalSpecifierException("Remote mode needs the args to send to the daemon: remote {args}");
+      }
+      if(!Daemon.send(args)) {
+        System.out.println("No daemon is listening on " + Daemon.SOCKET + ", so this JVM does the work instead. Start one " +
+            "with \"daemon\" to skip the JVM startup and warmup next time.\n");
+        handle(args);
+      }
+    } catch(IOException e) {
+      System.out.println("\nError: Lost the connection to the daemon.\n" + e.getMessage());
+    } catch(IllegalSpecifierException e) {
+      System.out.println("\nError: Incorrect arguments were provided to SolveKit.\n\nDetails:\n" + e.getMessage());
+    }
+  }
+
+  private static void train(String[] args) {
+    try {
+      if(args.length > 2) {
+        throw new IllegalSpecifierException("Train mode takes at most one argument: train [{Platform}.{Specifier}-Z]");
+      }
+      StartupCache.train(args.length == 2 ? args[1] : null);
+    } catch(IOException e) {
+      System.out.println("\nError: Couldn't build the startup cache.\n" + e.getMessage());
+    } catch(IllegalSpecifierException e) {
+      System.out.println("\nError: Incorrect arguments were provided to SolveKit.\n\nDetails:\n" + e.getMessage());
+    } catch(InterruptedException e) {
+      System.out.println("\nError: Interrupted while training.");
+    }
+  }
+
+  // Compares the steady-state runtimes in two results files (CSV or binary) and says whether the candidate is
+  // significantly faster or slower.
+  private static void compare(String[] args) {
+    try {
+      if(args.length != 3) {
+        throw new IllegalSpecifierException("Compare mode needs exactly two results files: compare {baseline} {candidate}");
+      }
+      ResultsFile.SteadyState baseline = ResultsFile.readSteadyState(Path.of(args[1]));
+      ResultsFile.SteadyState candidate = ResultsFile.readSteadyState(Path.of(args[2]));
+
+      System.out.println("Comparing " + args[2] + " against " + args[1] + "...");
+      BenchmarkReporter.showComparison(args[1], baseline, args[2], candidate,
+          new BenchmarkComparison(baseline.runtimes(), candidate.runtimes()));
+    } catch(IOException e) {
+      System.out.println("\nError: A results file couldn't be read. Does it exist?\n" + e.getMessage());
+    } catch(IllegalSpecifierException e) {
+      System.out.println("\nError: Incorrect arguments were provided to SolveKit.\n\nDetails:\n" + e.getMessage());
+    }
+  }
+
+  /* Benchmarks many solutions in one JVM. Args: suite {pattern} [{pattern}...] [BN] [options]
+     Patterns look like "AdventOfCode.y2015_*", "*.*-0..9" or "LeetCode.p1-3" (see BenchmarkSuite.resolve()). BN works
+     like in a single benchmark: N iterations per solution and test, or adaptive if N is left out (the default). The
+     options are the usual benchmark options, except for --calibrate. Saves a summary of every benchmark to a CSV. */
+  private static void suite(String[] args) {
+    try {
+      List<String> patterns = new ArrayList<>();
+      List<String> optionArgs = new ArrayList<>();
+      String iterationsArg = "";
+      for(int i = 1; i < args.length; i++) {
+        if(args[i].startsWith("--")) {
+          optionArgs.add(args[i]);
+        } else if(args[i].matches("B[0-9]*")) {
+          iterationsArg = args[i].substring(1);
+        } else {
+          patterns.add(args[i]);
+        }
+      }
+      if(patterns.isEmpty()) {
+        throw new IllegalSpecifierException("Suite mode needs at least one pattern: suite {pattern} [{pattern}...] [BN] [options]");
+      }
+
+      BenchmarkOptions options = BenchmarkOptions.parse(optionArgs.toArray(new String[0]));
+      if(options.calibrate()) {
+        throw new IllegalSpecifierException("--calibrate isn't supported in suite mode.");
+      }
+      Integer iterations = null; // Adaptive
+      if(!iterationsArg.isEmpty()) {
+        iterations = Integer.parseInt(iterationsArg);
+        if(iterations <= 2) { // Statistical calculation code glitches if there are less than 3 data points
+          throw new IllegalSpecifierException("Benchmarking iterations must be > 2");
+        }
+      } else if(options.forks() > 0) {
+        throw new IllegalSpecifierException("Forked benchmarks need a fixed number of iterations per fork.");
+      }
+
+      List<BenchmarkSuite.Item> items = BenchmarkSuite.resolve(patterns);
+      if(items.isEmpty()) {
+        throw new IllegalSpecifierException("No solution with input matches " + String.join(" ", patterns));
+      }
+      System.out.println("Suite: " + items.size() + " solution(s) and test(s) to benchmark.");
+
+      final long now = Instant.now().getEpochSecond(); // Current Unix timestamp, for the history and file names
+      Recording recording = options.jfr() && options.forks() == 0 ? BenchmarkEvents.startRecording() : null;
+      List<BenchmarkSuite.Outcome> outcomes = BenchmarkSuite.run(items, iterations, options, now);
+      if(recording != null) {
+        recording.stop();
+      }
+
+      System.out.println("\nBenchmarking results for suite " + String.join(" ", patterns) + ":");
+      BenchmarkReporter.showSuiteResults(outcomes, items.size() - outcomes.size());
+
+      String filename = "suite_" + now + ".csv";
+      BenchmarkSuite.writeCSV(Path.of(filename), outcomes);
+      System.out.println("\nSuite results saved to " + filename + " in inputs directory.");
+      if(recording != null) {
+        recording.dump(Path.of("suite_" + now + ".jfr"));
+        recording.close();
+        System.out.println("\nFlight recording saved to suite_" + now + ".jfr in inputs directory.");
+      }
+    } catch(IOException e) {
+      System.out.println("\nError: Couldn't find the solutions or save the suite results.\n" + e.getMessage());
+    } catch(IllegalSpecifierException e) {
+      System.out.println("\nError: Incorrect arguments were provided to SolveKit.\n\nDetails:\n" + e.getMessage());
+    } catch(NumberFormatException e) {
+      System.out.println("\nError: Incorrect arguments were provided to SolveKit.\n\nDetails:\nInvalid number of iterations: " + e.getMessage());
+    }
+  }
+
+  /* Runs many solutions and tests concurrently, each once, and shows their outputs one after another. Args:
+     parallel {pattern} [{pattern}...], with the same patterns as suite mode. Meant for checking the outputs of all
+     tests of a solution quickly; the runtimes shown are those of runs that competed for the CPU with each other. */
+  private static void parallel(String[] args) {
+    try {
+      if(args.length < 2) {
+        throw new IllegalSpecifierException("Parallel mode needs at least one pattern: parallel {pattern} [{pattern}...]");
+      }
+      List<String> patterns = Arrays.asList(args).subList(1, args.length);
+      List<BenchmarkSuite.Item> items = BenchmarkSuite.resolve(patterns);
+      if(items.isEmpty()) {
+        throw new IllegalSpecifierException("No solution with input matches " + String.join(" ", patterns));
+      }
+
+      int threads = Math.min(items.size(), Runtime.getRuntime().availableProcessors());
+      System.out.println("Running " + items.size() + " solution(s) and test(s) on " + threads + " thread(s)...");
+      ParallelRunner.show(ParallelRunner.run(items, threads));
+    } catch(IOException e) {
+      System.out.println("\nError: Couldn't find the solutions.\n" + e.getMessage());
+    } catch(IllegalSpecifierException e) {
+      System.out.println("\nError: Incorrect arguments were provided to SolveKit.\n\nDetails:\n" + e.getMessage());
+    } catch(InterruptedException e) {
+      System.out.println("\nError: Interrupted while waiting for the solutions to finish.");
+    }
+  }
+
+  /* Shows the benchmark history of every solution whose "{Platform}.{Specifier}-Z" starts with the given prefix. If
+     that's only one solution and test, every benchmark of it is listed; otherwise there's one line per solution. */
+  private static void history(String[] args) {
+    try {
+      if(args.length > 2) {
+        throw new IllegalSpecifierException("History mode takes at most one argument: history [{Platform}[.{Specifier}[-Z]]]");
+      }
+      String prefix = args.length == 2 ? args[1] : "";
+      List<BenchmarkHistory.Entry> entries = BenchmarkHistory.query(prefix);
+      if(entries.isEmpty()) {
+        System.out.println("No benchmarks of \"" + prefix + "\" in the history yet.");
+      } else if(entries.stream().map(BenchmarkHistory.Entry::key).distinct().count() == 1) {
+        BenchmarkReporter.showHistoryTrend(entries);
+      } else {
+        BenchmarkReporter.showHistoryOverview(entries);
+      }
+    } catch(IOException e) {
+      System.out.println("\nError: The benchmark history couldn't be read.\n" + e.getMessage());
+    } catch(IllegalSpecifierException e) {
+      System.out.println("\nError: Incorrect arguments were provided to SolveKit.\n\nDetails:\n" + e.getMessage());
+    }
+  }
 }
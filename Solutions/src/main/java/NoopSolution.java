@@ -0,0 +1,18 @@
+/*** NoopSolution.java ********************************************************\
+ * Author:         twisted_nematic57                                          *
+ * Date Created:   2026-10-17                                                 *
+ * Description:    A solution that does nothing, with a main method for every *
+ *                 way that platform handlers call solutions. Benchmarking it *
+ *                 measures the overhead of the harness itself.               *
+\******************************************************************************/
+
+public class NoopSolution {
+  // Stdin-based platforms and Project Euler
+  public static void main() { }
+
+  // LeetCode
+  public static void main(int test) { }
+
+  // Advent of Code
+  public static void main(String[] input) { }
+}
@@ -0,0 +1,116 @@
+/*** OutputCapture.java *******************************************************\
+ * Author:         twisted_nematic57                                          *
+ * Date Created:   2026-10-18                                                 *
+ * Description:    Collects what a solution prints to stdout into a reusable  *
+ *                 buffer, so that its output can be checked after every      *
+ *                 timed run without slowing the runs down. Compares each     *
+ *                 run's output with the first run's, and the first run's     *
+ *                 with the expected output.                                  *
+\******************************************************************************/
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.Arrays;
+
+public class OutputCapture extends OutputStream {
+  private static final int INITIAL_CAPACITY = 1 << 16;
+
+  private final byte[] expected; // Null if there's nothing to compare with
+  private PrintStream stream; // Created on first use, so that `this` doesn't escape the constructor
+  private byte[] buffer;
+  private int count = 0;
+
+  private byte[] reference; // What the first run printed
+  private String mismatch;
+  private int runs = 0;
+  private int nondeterministicRuns = 0;
+  private int firstNondeterministicRun = -1;
+
+  // `expected` is the expected output, or null if there is none (see PlatformHandler.expectedOutput()). The buffer starts
+  // out big enough for it, so that runs which print the right answer never make it grow.
+  public OutputCapture(byte[] expected) {
+    this.expected = expected;
+    this.buffer = new byte[expected != null ? Math.max(INITIAL_CAPACITY, expected.length + 1024) : INITIAL_CAPACITY];
+  }
+
+  // Stream to hand to the solution as stdout
+  public PrintStream stream() {
+    if(stream == null) {
+      stream = new PrintStream(this);
+    }
+    return stream;
+  }
+
+  // Stream that writes to `console` and gets captured as well, for runs whose output should still be seen
+  public PrintStream tee(PrintStream console) {
+    return new PrintStream(new OutputStream() {
+      @Override
+      public void write(int b) {
+        console.write(b);
+        OutputCapture.this.write(b);
+      }
+
+      @Override
+      public void write(byte[] b, int off, int len) {
+        console.write(b, off, len);
+        OutputCapture.this.write(b, off, len);
+      }
+
+      @Override
+      public void flush() {
+        console.flush();
+      }
+    }, true);
+  }
+
+  // The only work done while a run is being timed: a copy into the buffer, which only grows if a run prints more than
+  // any run before it.
+  @Override
+  public void write(int b) {
+    if(count == buffer.length) {
+      buffer = Arrays.copyOf(buffer, buffer.length * 2);
+    }
+    buffer[count++] = (byte) b;
+  }
+
+  @Override
+  public void write(byte[] b, int off, int len) {
+    if(count + len > buffer.length) {
+      buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, count + len));
+    }
+    System.arraycopy(b, off, buffer, count, len);
+    count += len;
+  }
+
+  /* Called after every run, outside of the timed region. The first run's output becomes the reference that every
+     later run is compared with byte for byte, and gets checked against the expected output. Then the buffer is
+     emptied for the next run. */
+  public void endRun() {
+    if(stream != null) {
+      stream.flush();
+    }
+    if(reference == null) {
+      reference = Arrays.copyOf(buffer, count);
+      if(expected != null) {
+        mismatch = OutputVerdict.compare(reference, reference.length, expected);
+      }
+    } else if(!Arrays.equals(buffer, 0, count, reference, 0, reference.length)) {
+      if(nondeterministicRuns == 0) {
+        firstNondeterministicRun = runs + 1; // Runs are numbered from 1, like in the results table
+      }
+      nondeterministicRuns++;
+    }
+    runs++;
+    count = 0;
+  }
+
+  // What the first run printed. Only meaningful after endRun() was called at least once.
+  public byte[] firstOutput() {
+    return reference;
+  }
+
+  public OutputVerdict verdict() {
+    return new OutputVerdict(expected != null, expected != null && reference != null && mismatch == null, mismatch, runs,
+        nondeterministicRuns, firstNondeterministicRun);
+  }
+}
@@ -0,0 +1,193 @@
+/*** OutputSink.java **********************************************************\
+ * Author:         twisted_nematic57                                          *
+ * Date Created:   2026-10-18                                                 *
+ * Description:    Sends what a solution prints to stdout somewhere real      *
+ *                 while it is being benchmarked: into a pipe that another    *
+ *                 thread drains, or into a file on tmpfs. Writes to the sink *
+ *                 go through the same 128-byte buffer that System.out        *
+ *                 flushes on every line, and the time spent in them is       *
+ *                 measured separately from the rest of the run. The copy     *
+ *                 kept for checking the output is made by the drainer thread *
+ *                 while the run goes on (pipe), or after the run (file).     *
+\******************************************************************************/
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.Pipe;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.concurrent.locks.LockSupport;
+
+public class OutputSink implements AutoCloseable {
+  // Sinks that --sink accepts
+  public static final String PIPE = "pipe";
+  public static final String FILE = "file";
+
+  // Same buffer size as System.out, which flushes it on every println()
+  private static final int STDOUT_BUFFER_SIZE = 128;
+  private static final int INITIAL_CAPACITY = 1 << 12;
+  private static final Path TMPFS = Path.of("/dev/shm");
+
+  private final String kind;
+  private final WritableByteChannel channel;
+  private final FileChannel file; // Null unless kind is FILE
+  private final Path path;        // Likewise
+  private final OutputCapture capture;
+  private final PrintStream stream;
+  private final ByteBuffer chunk = ByteBuffer.allocateDirect(8192); // Reused for every write, like FileOutputStream's
+  private final ByteBuffer readBack = ByteBuffer.allocate(1 << 16); // Reused to hand the sink's contents to `capture`
+
+  // Bytes written to the sink so far, and how many of them the drainer (if there is one) has passed on to `capture`
+  private long totalBytes = 0;
+  private volatile long drainedBytes = 0;
+  private volatile boolean drainerStopped = false;
+  private volatile IOException drainerFailure; // Why the drainer stopped, if it wasn't because the sink was closed
+
+  // Output time and bytes of the current run, and of every run before it
+  private long runNanos = 0;
+  private long runBytes = 0;
+  private long[] times = new long[INITIAL_CAPACITY];
+  private long[] bytes = new long[INITIAL_CAPACITY];
+  private int runs = 0;
+
+  /* Opens a sink of the given kind (PIPE or FILE). Everything written to stream() also reaches `capture`, so that the
+     output can still be checked, but never from the solution's thread: the pipe's drainer thread passes on what it
+     reads as it reads it (so, like a judge reading the output, it runs alongside the timed region), and the file is
+     read back by endRun(). */
+  public static OutputSink open(String kind, OutputCapture capture) throws IOException {
+    if(kind.equals(PIPE)) {
+      Pipe pipe = Pipe.open();
+      OutputSink sink = new OutputSink(kind, pipe.sink(), null, null, capture);
+      Thread drainer = new Thread(() -> sink.drain(pipe.source()), "solvekit-stdout-drainer");
+      drainer.setDaemon(true);
+      drainer.start();
+      return sink;
+    }
+    // Falls back to the temp directory on systems without /dev/shm, which may well be on a disk
+    Path path = Files.createTempFile(Files.isDirectory(TMPFS) ? TMPFS : Path.of(System.getProperty("java.io.tmpdir")),
+        "solvekit-stdout-", ".txt");
+    FileChannel file = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+    return new OutputSink(kind, file, file, path, capture);
+  }
+
+  private OutputSink(String kind, WritableByteChannel channel, FileChannel file, Path path, OutputCapture capture) {
+    this.kind = kind;
+    this.channel = channel;
+    this.file = file;
+    this.path = path;
+    this.capture = capture;
+    this.stream = new PrintStream(new BufferedOutputStream(new TimedChannelStream(), STDOUT_BUFFER_SIZE), true);
+  }
+
+  // Stream to hand to the solution as stdout. Built the same way as System.out.
+  public PrintStream stream() {
+    return stream;
+  }
+
+  // Writes out whatever is still buffered, like the JVM does with System.out when it exits. Meant to be called inside
+  // the timed region, right after the solution returns.
+  public void flush() {
+    stream.flush();
+  }
+
+  /* Called after every run, outside of the timed region and before `capture` checks the run. Makes sure all of the run's
+     output has reached `capture`, stores the run's output time and bytes, and empties the file (if there is one) so that
+     it doesn't grow from run to run. */
+  public void endRun() throws IOException {
+    if(file != null) {
+      readBack();
+    } else {
+      while(drainedBytes < totalBytes) { // The drainer is usually done by now; this only waits on very large outputs
+        if(drainerStopped && drainedBytes < totalBytes) { // Nothing is going to read the rest
+          throw new IOException("The stdout pipe stopped being read after " + drainedBytes + " of " + totalBytes +
+              " bytes", drainerFailure);
+        }
+        LockSupport.parkNanos(1000);
+      }
+    }
+    if(runs == times.length) {
+      times = Arrays.copyOf(times, runs * 2);
+      bytes = Arrays.copyOf(bytes, runs * 2);
+    }
+    times[runs] = runNanos;
+    bytes[runs] = runBytes;
+    runs++;
+    runNanos = 0;
+    runBytes = 0;
+    if(file != null) {
+      file.truncate(0);
+    }
+  }
+
+  public OutputTiming timing() {
+    return new OutputTiming(kind, Arrays.copyOf(times, runs), Arrays.copyOf(bytes, runs));
+  }
+
+  @Override
+  public void close() throws IOException {
+    channel.close(); // The drainer (if there is one) sees the end of the pipe and stops
+    if(path != null) {
+      Files.deleteIfExists(path);
+    }
+  }
+
+  // Reads the pipe until it's closed, like a judge that reads the output as it comes, and passes it on to `capture`
+  private void drain(Pipe.SourceChannel source) {
+    ByteBuffer buffer = ByteBuffer.allocate(1 << 16);
+    try(source) {
+      for(int read; (read = source.read(buffer)) >= 0; buffer.clear()) {
+        if(capture != null) {
+          capture.write(buffer.array(), 0, read);
+        }
+        drainedBytes += read; // Only this thread writes it; the volatile write publishes the capture to endRun()
+      }
+    } catch(IOException e) {
+      drainerFailure = e;
+    } finally {
+      drainerStopped = true; // After the last update of drainedBytes, so that endRun() sees every byte that got through
+    }
+  }
+
+  // Hands everything in the file to `capture`
+  private void readBack() throws IOException {
+    for(long position = 0; position < file.size(); readBack.clear()) {
+      int read = file.read(readBack, position);
+      if(capture != null) {
+        capture.write(readBack.array(), 0, read);
+      }
+      position += read;
+    }
+  }
+
+  // Writes to the sink's channel and times every write. Only reached when System.out's buffer is flushed.
+  private class TimedChannelStream extends OutputStream {
+    @Override
+    public void write(int b) throws IOException {
+      write(new byte[] {(byte) b}, 0, 1); // PrintStream never does this through its buffer, so it doesn't need to be fast
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+      long start = System.nanoTime();
+      for(int written = 0; written < len; ) {
+        int count = Math.min(chunk.capacity(), len - written);
+        chunk.clear();
+        chunk.put(b, off + written, count).flip();
+        while(chunk.hasRemaining()) {
+          channel.write(chunk);
+        }
+        written += count;
+      }
+      runNanos += System.nanoTime() - start;
+      runBytes += len;
+      totalBytes += len;
+    }
+  }
+}
@@ -0,0 +1,50 @@
+/*** OutputTiming.java ********************************************************\
+ * Author:         twisted_nematic57                                          *
+ * Date Created:   2026-10-18                                                 *
+ * Description:    Defines a record that holds how long each run of a         *
+ *                 solution spent writing its output into a realistic stdout  *
+ *                 sink, and how many bytes it wrote, so that output time can *
+ *                 be reported apart from compute time.                       *
+\******************************************************************************/
+
+import java.util.Arrays;
+
+// sink:  Kind of sink the output went to (see OutputSink).
+// times: Time (in ns) each run spent writing to the sink, flushes included.
+// bytes: Bytes each run wrote to the sink.
+public record OutputTiming(String sink, long[] times, long[] bytes) {
+  // Runs `from` (inclusive) to `to` (exclusive) only, e.g. the steady-state ones
+  public OutputTiming slice(int from, int to) {
+    return new OutputTiming(sink, Arrays.copyOfRange(times, from, to), Arrays.copyOfRange(bytes, from, to));
+  }
+
+  // Mean output time of runs `from` (inclusive) to `to` (exclusive), in ns
+  public long meanTime(int from, int to) {
+    return mean(times, from, to);
+  }
+
+  // Mean bytes written by runs `from` (inclusive) to `to` (exclusive)
+  public long meanBytes(int from, int to) {
+    return mean(bytes, from, to);
+  }
+
+  // Total output time of runs `from` (inclusive) to `to` (exclusive), in ns
+  public long timeSum(int from, int to) {
+    long sum = 0;
+    for(int i = from; i < to; i++) {
+      sum += times[i];
+    }
+    return sum;
+  }
+
+  private static long mean(long[] values, int from, int to) {
+    if(to <= from) {
+      return 0;
+    }
+    long sum = 0;
+    for(int i = from; i < to; i++) {
+      sum += values[i];
+    }
+    return sum / (to - from);
+  }
+}
@@ -0,0 +1,71 @@
+/*** OutputVerdict.java *******************************************************\
+ * Author:         twisted_nematic57                                          *
+ * Date Created:   2026-10-18                                                 *
+ * Description:    Defines a record that says whether the output of a         *
+ *                 solution matched its expected output file, and whether     *
+ *                 every run of it printed the same thing. Also holds the     *
+ *                 comparison itself, which works like the default checker of *
+ *                 most judges.                                               *
+\******************************************************************************/
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+// checked:    Whether there was an expected output file (o_{Specifier}_Z.txt) to compare with.
+// accepted:   Whether the output of the first run matched it. Always false if nothing was checked.
+// mismatch:   Where the output of the first run first differed from the expected output. Null unless it did.
+// runs:       Number of runs whose output was captured.
+// nondeterministicRuns: Number of runs that printed something else than the first run did.
+// firstNondeterministicRun: Number of the first of those (counting from 1), or -1 if there were none.
+public record OutputVerdict(boolean checked, boolean accepted, String mismatch, int runs, int nondeterministicRuns,
+                            int firstNondeterministicRun) {
+  private static final int MAX_SHOWN_CHARS = 24; // Of each side of a mismatching line
+
+  // "AC", "WA", or "-" if nothing was checked, with a "*" if the runs didn't all print the same thing
+  public String label() {
+    return (!checked ? "-" : accepted ? "AC" : "WA") + (nondeterministicRuns > 0 ? "*" : "");
+  }
+
+  // label() spelled out, e.g. "WA (line 2: expected "4", got "5")"
+  public String describe() {
+    String verdict = !checked ? "not checked (no expected output)" : accepted ? "AC" : "WA (" + mismatch + ")";
+    if(nondeterministicRuns > 0) {
+      verdict += "; " + nondeterministicRuns + " of " + runs + " runs printed something else than the first, starting with run #"
+          + firstNondeterministicRun;
+    }
+    return verdict;
+  }
+
+  /* Compares output[0..length) with the expected output like the default checker of most judges: line endings
+     (\n or \r\n), whitespace at the end of lines and empty lines at the end don't matter. Returns null if they match,
+     or where they first differ. */
+  public static String compare(byte[] output, int length, byte[] expected) {
+    List<String> got = lines(new String(output, 0, length, StandardCharsets.UTF_8));
+    List<String> want = lines(new String(expected, StandardCharsets.UTF_8));
+    for(int line = 0; line < Math.min(got.size(), want.size()); line++) {
+      if(!got.get(line).equals(want.get(line))) {
+        return "line " + (line+1) + ": expected \"" + shorten(want.get(line)) + "\", got \"" + shorten(got.get(line)) + "\"";
+      }
+    }
+    if(got.size() != want.size()) {
+      return "expected " + want.size() + " line(s), got " + got.size();
+    }
+    return null;
+  }
+
+  private static List<String> lines(String text) {
+    List<String> lines = new ArrayList<>();
+    for(String line : text.split("\r?\n", -1)) {
+      lines.add(line.stripTrailing());
+    }
+    while(!lines.isEmpty() && lines.getLast().isEmpty()) {
+      lines.removeLast();
+    }
+    return lines;
+  }
+
+  private static String shorten(String line) {
+    return line.length() <= MAX_SHOWN_CHARS ? line : line.substring(0, MAX_SHOWN_CHARS) + "...";
+  }
+}
@@ -0,0 +1,103 @@
+/*** ParallelRunner.java ******************************************************\
+ * Author:         twisted_nematic57                                          *
+ * Date Created:   2026-10-18                                                 *
+ * Description:    Runs many solutions and tests at once, one per core, each  *
+ *                 with its own stdin, its own copy of the solution's classes *
+ *                 and a buffer that collects its console output. Outputs are *
+ *                 shown one after another once every run has finished.       *
+\******************************************************************************/
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+public class ParallelRunner {
+  // What one item did: everything it printed (stdout and stderr, in the order it printed them) and its runtime in ns,
+  // or what it threw instead of finishing. verdict says whether its stdout matched the expected output of the test; it's
+  // null if the test has none or the item failed.
+  public record Run(BenchmarkSuite.Item item, byte[] output, long runtime, Throwable error, OutputVerdict verdict) { }
+
+  /* Runs every item once on a pool of `threads` threads and returns what each one did, in the order of `items`. Every
+     item gets a fresh handler, its own standard streams (see StdioMultiplexer) and its own copy of the solution (see
+     SolutionClassLoader), so items can't see each other's input, output or static fields, even if several tests of
+     one solution run at the same time. */
+  public static List<Run> run(List<BenchmarkSuite.Item> items, int threads) throws InterruptedException {
+    StdioMultiplexer.install();
+    ExecutorService pool = Executors.newFixedThreadPool(threads);
+    try {
+      List<Future<Run>> futures = new ArrayList<>();
+      for(BenchmarkSuite.Item item : items) {
+        futures.add(pool.submit(() -> runItem(item)));
+      }
+
+      List<Run> runs = new ArrayList<>();
+      for(int i = 0; i < items.size(); i++) {
+        try {
+          runs.add(futures.get(i).get());
+        } catch(ExecutionException e) { // Only errors (e.g. StackOverflowError) get past runItem()
+          runs.add(new Run(items.get(i), new byte[0], -1, e.getCause(), null));
+        }
+      }
+      return runs;
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  // Shows the output, runtime and verdict of every run, one after another, followed by how many of them failed or gave
+  // a wrong answer.
+  public static void show(List<Run> runs) {
+    int failed = 0;
+    int wrong = 0;
+    for(int i = 0; i < runs.size(); i++) {
+      Run run = runs.get(i);
+      System.out.println("\n[" + (i+1) + "/" + runs.size() + "] " + run.item().key() + ":");
+      System.out.write(run.output(), 0, run.output().length);
+      System.out.println("\n---------------------------------------------------");
+      if(run.error() == null) {
+        System.out.printf("Runtime: %.1f μs / %.3f ms\n", UnitConverter.ns_us(run.runtime()), UnitConverter.ns_ms(run.runtime()));
+        if(run.verdict() != null) {
+          System.out.println("Verdict: " + run.verdict().describe());
+          if(!run.verdict().accepted()) {
+            wrong++;
+          }
+        }
+      } else {
+        System.out.println("Error: " + run.item().key() + " failed. Error details:\n" + run.error());
+        failed++;
+      }
+    }
+    System.out.println("\n" + (runs.size() - failed) + " of " + runs.size() + " run(s) finished" +
+        (failed > 0 ? ", " + failed + " failed" : "") + (wrong > 0 ? ", " + wrong + " gave a wrong answer." : "."));
+  }
+
+  // Runs on a pool thread
+  private static Run runItem(BenchmarkSuite.Item item) {
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    PrintStream console = new PrintStream(output);
+    StdioMultiplexer.setErr(console);
+    try {
+      PlatformHandler handler = Main.HANDLERS.get(item.platform()).get(); // Handlers hold their input, so one per run
+      byte[] expectedOutput = handler.expectedOutput(item.solution());
+      OutputCapture capture = expectedOutput != null ? new OutputCapture(expectedOutput) : null;
+      StdioMultiplexer.setOut(capture != null ? capture.tee(console) : console); // Only stdout gets checked
+
+      long runtime = handler.runSolution(item.solution(), new SolutionClassLoader(item.platform()));
+      console.flush();
+      if(capture != null) {
+        capture.endRun();
+      }
+      return new Run(item, output.toByteArray(), runtime, null, capture != null ? capture.verdict() : null);
+    } catch(Exception e) {
+      console.flush();
+      return new Run(item, output.toByteArray(), -1, e, null);
+    } finally {
+      StdioMultiplexer.reset(); // The thread moves on to another item next
+    }
+  }
+}
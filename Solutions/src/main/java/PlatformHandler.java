@@ -11,18 +11,96 @@
 \******************************************************************************/
 
 import java.io.IOException;
-import java.lang.reflect.InvocationTargetException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
 
 public interface PlatformHandler {
   // Used for platforms that rely on plaintext input via a file
   default void loadInput(SolutionSpecifier thisSolution) throws IOException { }
 
-  // Used for platforms that rely on stdin for input
+  // Used for platforms that rely on stdin for input. Called once before the solution is run for the first time, on the
+  // thread that's going to run it; only that thread's stdin may be changed (see StdioMultiplexer).
   default void passStdInput() { }
 
+  // Called before every run of the solution (outside of the timed region) so that each run gets pristine input.
+  default void resetInput() { }
+
+  // Name of the package that holds this platform's solutions
+  String platformName();
+
+  // Test #s that the solution can be run on right now (used by suite mode). Platforms without input files have no way
+  // of telling which tests a solution has, so they only offer test 1.
+  default List<Integer> availableTests(String solutionName) {
+    return List.of(1);
+  }
+
+  // What the solution should print on this test, from the platform's o_{Specifier}_Z.txt next to its input file. Null
+  // if there's no such file, in which case the output isn't checked.
+  default byte[] expectedOutput(SolutionSpecifier thisSolution) throws IOException {
+    Path expected = Path.of(platformName() + "/o_" + thisSolution.name() + "_" + thisSolution.test() + ".txt");
+    return Files.exists(expected) ? Files.readAllBytes(expected) : null;
+  }
+
+  // Binds the main method of `mainClass` into an invoker the way this platform calls solutions, with all of its
+  // arguments bound. Solutions are called directly (see InvokerFactory), so anything they throw propagates as-is.
+  // Other classes than the solution's (e.g. NoopSolution) can be bound too; they'll be called through the exact same
+  // path.
+  SolutionInvoker bindMain(Class<?> mainClass, SolutionSpecifier thisSolution) throws Exception;
+
+  // Resolves the solution's main method into an invoker. The solution comes from the classpath, or from the latest
+  // class files if the daemon is hot reloading them.
+  default SolutionInvoker resolveSolution(SolutionSpecifier thisSolution) throws Exception {
+    return bindMain(Class.forName(platformName() + "." + thisSolution.name(), true,
+        SolutionClassLoader.forPlatform(platformName())), thisSolution);
+  }
+
+  // Resolves the main method of the solution's copy in `loader` (see SolutionClassLoader) into an invoker. The class
+  // isn't initialized yet, so its static initializers run as part of the first call, like they would on a judge.
+  default SolutionInvoker resolveSolution(SolutionSpecifier thisSolution, ClassLoader loader) throws Exception {
+    return bindMain(Class.forName(platformName() + "." + thisSolution.name(), false, loader), thisSolution);
+  }
+
   // Runs the solution once. Returns the runtime of the solution in ns.
-  long runSolution(SolutionSpecifier thisSolution) throws NoSuchMethodException, InvocationTargetException, IllegalAccessException, ClassNotFoundException, IOException;
+  default long runSolution(SolutionSpecifier thisSolution) throws Exception {
+    return BenchmarkEngine.runOnce(this, thisSolution, null);
+  }
+
+  // Runs the solution's copy in `loader` once (see SolutionClassLoader). Returns the runtime of the solution in ns.
+  default long runSolution(SolutionSpecifier thisSolution, ClassLoader loader) throws Exception {
+    return BenchmarkEngine.runOnce(this, thisSolution, loader);
+  }
+
+  // Runs the solution `iterations` times. Returns histograms of the runtimes and where the warmup ended, plus the
+  // runtime of each iteration if keepRuntimes is true. With --isolate, every run gets a freshly loaded copy of the
+  // solution; with --sink, its output goes somewhere real (see BenchmarkOptions).
+  default BenchmarkResult benchmarkSolution(SolutionSpecifier thisSolution, int iterations, boolean keepRuntimes,
+                                            BenchmarkOptions options) throws Exception {
+    return BenchmarkEngine.benchmark(this, thisSolution, iterations, keepRuntimes, options);
+  }
+
+  // Runs the solution until its steady-state median is known as precisely as the options ask for, or until the time
+  // budget runs out.
+  default BenchmarkResult benchmarkSolutionAdaptively(SolutionSpecifier thisSolution, BenchmarkOptions options,
+                                                      boolean keepRuntimes) throws Exception {
+    return BenchmarkEngine.benchmarkAdaptively(this, thisSolution, options, keepRuntimes);
+  }
+
+  // Runs a solution that does nothing through the same path as the real solution, to measure how much time the
+  // harness itself adds to each measurement.
+  default BenchmarkResult calibrate(SolutionSpecifier thisSolution) throws Exception {
+    return BenchmarkEngine.calibrate(this, thisSolution);
+  }
 
-  // Runs the solution `iterations` times. Returns an array containing runtimes for each iteration.
-  long[] benchmarkSolution(SolutionSpecifier thisSolution, int iterations) throws ClassNotFoundException, NoSuchMethodException, InvocationTargetException, IllegalAccessException, IOException;
+  // Test #s (0-9) that have an input file in the platform's input directory, named the way loadInput() expects it
+  static List<Integer> testsWithInputFiles(String platformName, String solutionName) {
+    List<Integer> tests = new ArrayList<>();
+    for(int test = 0; test <= 9; test++) {
+      if(Files.exists(Path.of(platformName + "/i_" + solutionName + "_" + test + ".txt"))) {
+        tests.add(test);
+      }
+    }
+    return tests;
+  }
 }
@@ -0,0 +1,348 @@
+/*** ResultsFile.java *********************************************************\
+ * Author:         twisted_nematic57                                          *
+ * Date Created:   2026-10-17                                                 *
+ * Description:    Saves benchmark runtimes to disk and loads them back,      *
+ *                 either as a compact binary file (a header describing the   *
+ *                 benchmark, then packed longs) or as a CSV. Both are        *
+ *                 streamed through a FileChannel in large blocks instead of  *
+ *                 being written row by row.                                  *
+\******************************************************************************/
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+public class ResultsFile {
+  /* Binary format (little-endian):
+       int    magic ("SKRT")
+       int    format version
+       string platform, string solution, int test #, string JVM, long Unix timestamp
+       int    number of blocks (one per fork, or just one)
+       then for each block: int warmup iterations, int number of runtimes, int flags, int index of the first
+                            steady-state runtime (see BenchmarkResult.steadyStateStart()), that many longs (ns), then
+                            if bit 0 of flags is set, as many longs of allocated bytes, then if bit 1 is set, as many
+                            longs of CPU time (ns)
+     where a string is an int byte count followed by that many bytes of UTF-8. */
+  private static final int MAGIC = 0x54524B53; // "SKRT" when read as little-endian bytes
+  private static final int VERSION = 1;
+  private static final int HAS_ALLOCATIONS = 1; // Block flags
+  private static final int HAS_CPU_TIMES = 2;
+  static final long MAP_WINDOW = 1L << 27; // Runtimes get mapped 128 MiB at a time
+
+  private static final String CSV_HEADER = "runtime_ns,steady_state,allocated_bytes,cpu_ns\n";
+  private static final int CSV_BUFFER_SIZE = 1 << 20;
+  private static final int CSV_MAX_ROW = 64; // 19 digits + ",1," + 19 digits + "," + 19 digits + "\n", rounded up
+
+  // Describes the benchmark that produced a binary results file.
+  public record Header(String platform, String solution, int test, String jvm, long timestamp) {
+    public static Header describe(String platform, SolutionSpecifier thisSolution, long timestamp) {
+      return new Header(platform, thisSolution.name(), thisSolution.test(),
+          System.getProperty("java.vm.name") + " " + System.getProperty("java.runtime.version"), timestamp);
+    }
+  }
+
+  public record Contents(Header header, BenchmarkResult[] results) { }
+
+  // Steady-state runtimes of a results file, out of totalRuns runtimes in it. steadyStateReached is false if a benchmark
+  // in the file never reached a steady state, so that only its runs after the latest JIT activity are in `runtimes`.
+  // CSVs don't record that, so it's always true for them.
+  public record SteadyState(long[] runtimes, int totalRuns, boolean steadyStateReached) { }
+
+  // Writes results in the binary format. The runtimes are copied straight into a memory mapping of the file.
+  public static void writeBinary(Path path, Header header, BenchmarkResult[] results) throws IOException {
+    try(FileChannel channel = openLocked(path)) {
+      ByteBuffer head = ByteBuffer.allocate(1 << 12).order(ByteOrder.LITTLE_ENDIAN);
+      head.putInt(MAGIC).putInt(VERSION);
+      putString(head, header.platform());
+      putString(head, header.solution());
+      head.putInt(header.test());
+      putString(head, header.jvm());
+      head.putLong(header.timestamp());
+      head.putInt(results.length);
+      head.flip();
+      long position = writeFully(channel, head, 0);
+
+      for(BenchmarkResult result : results) {
+        long[] runtimes = result.runtimes();
+        ByteBuffer blockHead = ByteBuffer.allocate(16).order(ByteOrder.LITTLE_ENDIAN);
+        blockHead.putInt(result.warmupIterations()).putInt(runtimes.length)
+            .putInt((result.allocations() != null ? HAS_ALLOCATIONS : 0) | (result.cpuTimes() != null ? HAS_CPU_TIMES : 0))
+            .putInt(result.steadyStateStart())
+            .flip();
+        position = writeFully(channel, blockHead, position);
+
+        position = mapLongs(channel, position, runtimes, FileChannel.MapMode.READ_WRITE);
+        if(result.allocations() != null) {
+          position = mapLongs(channel, position, result.allocations(), FileChannel.MapMode.READ_WRITE);
+        }
+        if(result.cpuTimes() != null) {
+          position = mapLongs(channel, position, result.cpuTimes(), FileChannel.MapMode.READ_WRITE);
+        }
+      }
+    }
+  }
+
+  public static Contents readBinary(Path path) throws IOException {
+    try(FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      long[] position = {0}; // Advanced by every read below
+      ByteBuffer fixed = readFully(channel, position, 8);
+      if(fixed.getInt() != MAGIC) {
+        throw new IOException(path + " isn't a SolveKit results file");
+      }
+      int version = fixed.getInt();
+      if(version != VERSION) {
+        throw new IOException(path + " has format version " + version + ", but only version " + VERSION + " is supported");
+      }
+
+      String platform = readString(channel, position);
+      String solution = readString(channel, position);
+      int test = readFully(channel, position, 4).getInt();
+      String jvm = readString(channel, position);
+      long timestamp = readFully(channel, position, 8).getLong();
+      Header header = new Header(platform, solution, test, jvm, timestamp);
+
+      BenchmarkResult[] results = new BenchmarkResult[readFully(channel, position, 4).getInt()];
+      for(int i = 0; i < results.length; i++) {
+        ByteBuffer blockHead = readFully(channel, position, 16);
+        int warmupIterations = blockHead.getInt();
+        long[] runtimes = new long[blockHead.getInt()];
+        int flags = blockHead.getInt();
+        int steadyStateStart = blockHead.getInt();
+
+        position[0] = mapLongs(channel, position[0], runtimes, FileChannel.MapMode.READ_ONLY);
+        long[] allocations = null;
+        if((flags & HAS_ALLOCATIONS) != 0) {
+          allocations = new long[runtimes.length];
+          position[0] = mapLongs(channel, position[0], allocations, FileChannel.MapMode.READ_ONLY);
+        }
+        long[] cpuTimes = null;
+        if((flags & HAS_CPU_TIMES) != 0) {
+          cpuTimes = new long[runtimes.length];
+          position[0] = mapLongs(channel, position[0], cpuTimes, FileChannel.MapMode.READ_ONLY);
+        }
+        results[i] = BenchmarkResult.fromRuntimes(runtimes, cpuTimes, allocations, warmupIterations, steadyStateStart);
+      }
+      return new Contents(header, results);
+    }
+  }
+
+  /* Copies `values` into (READ_WRITE) or out of (READ_ONLY) the file, starting at `position`, through memory mappings
+     of at most MAP_WINDOW bytes. Returns the position right after the last value. */
+  private static long mapLongs(FileChannel channel, long position, long[] values, FileChannel.MapMode mode)
+      throws IOException {
+    for(int offset = 0; offset < values.length; ) {
+      int length = (int)Math.min(values.length - offset, MAP_WINDOW / Long.BYTES);
+      MappedByteBuffer window = channel.map(mode, position, (long)length * Long.BYTES);
+      if(mode == FileChannel.MapMode.READ_ONLY) {
+        window.order(ByteOrder.LITTLE_ENDIAN).asLongBuffer().get(values, offset, length);
+      } else {
+        window.order(ByteOrder.LITTLE_ENDIAN).asLongBuffer().put(values, offset, length);
+      }
+      position += (long)length * Long.BYTES;
+      offset += length;
+    }
+    return position;
+  }
+
+  /* Writes results as a CSV with one row per runtime: the runtime in ns, whether it was a steady-state run (1) or a
+     warmup run (0), how many bytes it allocated, and how much CPU time it used in ns (each left empty if not
+     tracked). Rows are encoded straight into a 1 MiB buffer that gets written to the file whenever it's nearly full,
+     so there's no per-row allocation or system call. */
+  public static void writeCSV(Path path, BenchmarkResult[] results) throws IOException {
+    try(FileChannel channel = openLocked(path)) {
+      ByteBuffer buffer = ByteBuffer.allocateDirect(CSV_BUFFER_SIZE);
+      buffer.put(CSV_HEADER.getBytes(StandardCharsets.US_ASCII));
+      long position = 0;
+
+      for(BenchmarkResult result : results) {
+        long[] runtimes = result.runtimes();
+        long[] allocations = result.allocations();
+        long[] cpuTimes = result.cpuTimes();
+        int steadyStateStart = result.steadyStateStart();
+        for(int i = 0; i < runtimes.length; i++) {
+          if(buffer.remaining() < CSV_MAX_ROW) {
+            buffer.flip();
+            position = writeFully(channel, buffer, position);
+            buffer.clear();
+          }
+          putDigits(buffer, runtimes[i]);
+          buffer.put((byte)',').put((byte)(i < steadyStateStart ? '0' : '1')).put((byte)',');
+          if(allocations != null) {
+            putDigits(buffer, allocations[i]);
+          }
+          buffer.put((byte)',');
+          if(cpuTimes != null) {
+            putDigits(buffer, cpuTimes[i]);
+          }
+          buffer.put((byte)'\n');
+        }
+      }
+
+      buffer.flip();
+      writeFully(channel, buffer, position);
+    }
+  }
+
+  /* Loads the steady-state runtimes from a results file of either format. CSVs from before the steady_state column
+     existed only have runtimes in them; all of those are loaded. */
+  public static SteadyState readSteadyState(Path path) throws IOException {
+    SteadyState steady;
+    if(isBinary(path)) {
+      BenchmarkResult[] results = readBinary(path).results();
+      int totalRuns = 0;
+      boolean steadyStateReached = true;
+      for(BenchmarkResult result : results) {
+        totalRuns += result.iterations();
+        steadyStateReached &= result.reachedSteadyState();
+      }
+      steady = new SteadyState(BenchmarkResult.pooledSteadyRuntimes(results), totalRuns, steadyStateReached);
+    } else {
+      steady = readCSVSteadyState(path);
+    }
+
+    if(steady.runtimes().length == 0) {
+      throw new IOException(path + " doesn't contain any steady-state runtimes");
+    }
+    return steady;
+  }
+
+  /* Parses a CSV one byte at a time out of large blocks, with no per-row String. A row is skipped if it doesn't start
+     with a digit (the header) or if its second column is 0 (a warmup run). */
+  private static SteadyState readCSVSteadyState(Path path) throws IOException {
+    long[] runtimes = new long[1 << 12];
+    int count = 0;
+    int totalRuns = 0;
+
+    try(FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      ByteBuffer buffer = ByteBuffer.allocateDirect(CSV_BUFFER_SIZE);
+      long value = 0;
+      int column = 0;
+      boolean skipRow = false;
+      boolean rowStarted = false;
+
+      while(channel.read(buffer) >= 0) {
+        buffer.flip();
+        while(buffer.hasRemaining()) {
+          byte b = buffer.get();
+          if(b == '\n' || b == '\r') {
+            if(rowStarted) {
+              totalRuns++;
+            }
+            if(rowStarted && !skipRow) {
+              if(count == runtimes.length) {
+                runtimes = Arrays.copyOf(runtimes, 2*count);
+              }
+              runtimes[count++] = value;
+            }
+            value = 0;
+            column = 0;
+            skipRow = false;
+            rowStarted = false;
+          } else if(skipRow) {
+            continue;
+          } else if(b == ',') {
+            column++;
+          } else if(column == 0 && b >= '0' && b <= '9') {
+            value = value*10 + (b - '0');
+            rowStarted = true;
+          } else if(column == 1 && b == '0') { // Warmup run
+            skipRow = true;
+          } else if(column == 0) { // Header (or anything else that isn't a runtime)
+            skipRow = true;
+          }
+        }
+        buffer.clear();
+      }
+
+      if(rowStarted) { // Last row without a line break
+        totalRuns++;
+      }
+      if(rowStarted && !skipRow) {
+        if(count == runtimes.length) {
+          runtimes = Arrays.copyOf(runtimes, count + 1);
+        }
+        runtimes[count++] = value;
+      }
+    }
+    return new SteadyState(Arrays.copyOf(runtimes, count), totalRuns, true);
+  }
+
+  private static boolean isBinary(Path path) throws IOException {
+    try(FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      return channel.size() >= 4 && readFully(channel, new long[] {0}, 4).getInt() == MAGIC;
+    }
+  }
+
+  /* Opens a file for writing and locks it, so that two SolveKit processes can't write the same file at once. The lock
+     goes away when the channel is closed. The file is only emptied once the lock is held. */
+  private static FileChannel openLocked(Path path) throws IOException {
+    FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+    try {
+      FileLock lock = channel.tryLock();
+      if(lock == null) {
+        throw new IOException(path + " is locked by another program");
+      }
+      channel.truncate(0);
+      return channel;
+    } catch(IOException | OverlappingFileLockException e) {
+      channel.close();
+      throw e instanceof IOException io ? io : new IOException(path + " is already being written by SolveKit", e);
+    }
+  }
+
+  // Writes all of `buffer` at `position`. Returns the position right after it.
+  private static long writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+    while(buffer.hasRemaining()) {
+      position += channel.write(buffer, position);
+    }
+    return position;
+  }
+
+  // Reads exactly `length` bytes at position[0] and advances it.
+  private static ByteBuffer readFully(FileChannel channel, long[] position, int length) throws IOException {
+    ByteBuffer buffer = ByteBuffer.allocate(length).order(ByteOrder.LITTLE_ENDIAN);
+    while(buffer.hasRemaining()) {
+      if(channel.read(buffer, position[0] + buffer.position()) < 0) {
+        throw new IOException("Results file ends unexpectedly");
+      }
+    }
+    position[0] += length;
+    return buffer.flip();
+  }
+
+  private static void putString(ByteBuffer buffer, String s) {
+    byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+    buffer.putInt(bytes.length).put(bytes);
+  }
+
+  private static String readString(FileChannel channel, long[] position) throws IOException {
+    int length = readFully(channel, position, 4).getInt();
+    return StandardCharsets.UTF_8.decode(readFully(channel, position, length)).toString();
+  }
+
+  // Writes the decimal digits of a non-negative long without going through a String.
+  private static void putDigits(ByteBuffer buffer, long value) {
+    if(value == 0) {
+      buffer.put((byte)'0');
+      return;
+    }
+    int digits = 0;
+    for(long v = value; v > 0; v /= 10) {
+      digits++;
+    }
+    int end = buffer.position() + digits;
+    for(int i = end - 1; value > 0; i--) {
+      buffer.put(i, (byte)('0' + value % 10));
+      value /= 10;
+    }
+    buffer.position(end);
+  }
+}
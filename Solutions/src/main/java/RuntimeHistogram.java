@@ -0,0 +1,157 @@
+/*** RuntimeHistogram.java ****************************************************\
+ * Author:         twisted_nematic57                                          *
+ * Date Created:   2026-10-17                                                 *
+ * Description:    Records runtimes into log-linear buckets (like             *
+ *                 HdrHistogram) so that percentiles, the mean and the stddev *
+ *                 of any number of runtimes can be computed in constant      *
+ *                 memory, with a fixed relative error of at most 0.1%.       *
+\******************************************************************************/
+
+public class RuntimeHistogram {
+  /* Bucket layout: runtimes below 2^SIGNIFICANT_BITS ns each get a bucket of their own. Above that, every power of 2
+     is split into 2^(SIGNIFICANT_BITS-1) equally wide buckets, i.e. a runtime is only stored with its top
+     SIGNIFICANT_BITS bits. That makes every bucket at most 1/1024th as wide as the runtimes in it, no matter whether
+     they're nanoseconds or hours. All buckets together take up ~430 KB. */
+  private static final int SIGNIFICANT_BITS = 11;
+  private static final int HALF = 1 << (SIGNIFICANT_BITS - 1); // Buckets per power of 2
+  private static final int BUCKETS = (64 - SIGNIFICANT_BITS + 1) * HALF;
+
+  // Largest possible relative difference between a runtime and the value that represents its bucket
+  public static final double RELATIVE_RESOLUTION = 1.0 / HALF;
+
+  private final long[] counts = new long[BUCKETS];
+  private int lowestBucket = BUCKETS; // Range of buckets that have ever been touched; keeps walks and merges short
+  private int highestBucket = -1;
+
+  private long count = 0;
+  private long sum = 0; // Exact; runtimes add up to less than 292 years
+  private long min = Long.MAX_VALUE;
+  private long max = 0;
+  private double mean = 0; // Welford's running mean and sum of squared deviations, for the stddev
+  private double m2 = 0;
+
+  // Adds a (non-negative) runtime. Does not allocate.
+  public void record(long runtime) {
+    final int bucket = bucketOf(runtime);
+    counts[bucket]++;
+    lowestBucket = Math.min(lowestBucket, bucket);
+    highestBucket = Math.max(highestBucket, bucket);
+
+    count++;
+    sum += runtime;
+    min = Math.min(min, runtime);
+    max = Math.max(max, runtime);
+
+    final double delta = runtime - mean;
+    mean += delta / count;
+    m2 += delta * (runtime - mean);
+  }
+
+  // Adds everything recorded in this histogram to `target`, then empties this histogram.
+  public void moveTo(RuntimeHistogram target) {
+    if(count == 0) {
+      return;
+    }
+
+    for(int i = lowestBucket; i <= highestBucket; i++) {
+      target.counts[i] += counts[i];
+      counts[i] = 0;
+    }
+    target.lowestBucket = Math.min(target.lowestBucket, lowestBucket);
+    target.highestBucket = Math.max(target.highestBucket, highestBucket);
+
+    // Chan et al.'s formula for combining two sets of Welford statistics
+    final long combined = target.count + count;
+    final double delta = mean - target.mean;
+    target.m2 += m2 + delta*delta * ((double)target.count*count / combined);
+    target.mean += delta * count / combined;
+    target.count = combined;
+    target.sum += sum;
+    target.min = Math.min(target.min, min);
+    target.max = Math.max(target.max, max);
+
+    lowestBucket = BUCKETS;
+    highestBucket = -1;
+    count = 0;
+    sum = 0;
+    min = Long.MAX_VALUE;
+    max = 0;
+    mean = 0;
+    m2 = 0;
+  }
+
+  // Value of the runtime with the given rank, counting from 0 for the fastest one. Accurate to RELATIVE_RESOLUTION.
+  public long valueAtRank(long rank) {
+    long seen = 0;
+    for(int i = lowestBucket; i <= highestBucket; i++) {
+      seen += counts[i];
+      if(seen > rank) {
+        return Math.clamp(bucketMidpoint(i), min, max); // The true value is never outside of [min, max]
+      }
+    }
+    return max;
+  }
+
+  // Returns {values, counts} of every bucket that holds at least one runtime, in ascending order. Each value is the
+  // middle of its bucket, like in valueAtRank().
+  public long[][] nonEmptyBuckets() {
+    int nonEmpty = 0;
+    for(int i = lowestBucket; i <= highestBucket; i++) {
+      if(counts[i] > 0) {
+        nonEmpty++;
+      }
+    }
+
+    long[][] buckets = new long[2][nonEmpty];
+    int j = 0;
+    for(int i = lowestBucket; i <= highestBucket; i++) {
+      if(counts[i] > 0) {
+        buckets[0][j] = Math.clamp(bucketMidpoint(i), min, max);
+        buckets[1][j] = counts[i];
+        j++;
+      }
+    }
+    return buckets;
+  }
+
+  private static int bucketOf(long runtime) {
+    if(runtime < 2*HALF) { // Small enough to get a bucket of its own
+      return (int)Math.max(0, runtime);
+    }
+    // Shift away everything but the top SIGNIFICANT_BITS bits. What's left is in [HALF, 2*HALF).
+    final int shift = 64 - SIGNIFICANT_BITS - Long.numberOfLeadingZeros(runtime);
+    return shift*HALF + (int)(runtime >>> shift);
+  }
+
+  // Middle of the range of runtimes that end up in the given bucket
+  private static long bucketMidpoint(int bucket) {
+    if(bucket < 2*HALF) {
+      return bucket;
+    }
+    final int shift = bucket/HALF - 1;
+    final long lowest = (long)(bucket - shift*HALF) << shift;
+    return lowest + ((1L << shift) - 1)/2;
+  }
+
+  public long getCount() {
+    return count;
+  }
+
+  public long getSum() {
+    return sum;
+  }
+
+  // Exact, like the sum
+  public long getMin() {
+    return count == 0 ? 0 : min;
+  }
+
+  public long getMax() {
+    return max;
+  }
+
+  // Population standard deviation
+  public double getStddev() {
+    return count == 0 ? 0 : Math.sqrt(m2 / count);
+  }
+}
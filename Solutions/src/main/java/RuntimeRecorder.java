@@ -0,0 +1,138 @@
+/*** RuntimeRecorder.java *****************************************************\
+ * Author:         twisted_nematic57                                          *
+ * Date Created:   2026-10-17                                                 *
+ * Description:    Collects the runtimes of a benchmark while it runs. Feeds  *
+ *                 them to a WarmupDetector and sorts them into a warmup and  *
+ *                 a steady-state histogram as it goes. Only keeps every      *
+ *                 single runtime if asked to. Does the same for the CPU time *
+ *                 and the number of bytes each iteration used, if those are  *
+ *                 tracked, and for the garbage collections that overlapped   *
+ *                 each one.                                                  *
+\******************************************************************************/
+
+import java.util.Arrays;
+
+public class RuntimeRecorder {
+  private static final int MAX_ITERATIONS = Integer.MAX_VALUE - 8; // Largest array size every JVM can allocate
+
+  private final WarmupDetector detector;
+  private final RuntimeHistogram warmup = new RuntimeHistogram();
+  // Runtimes since the latest JIT activity. Once the detector declares a steady state, these are exactly the first
+  // steady-state runtimes, so this histogram simply keeps going as the steady-state histogram.
+  private final RuntimeHistogram quiet = new RuntimeHistogram();
+  // CPU time per iteration, split the same way as the runtimes. Null if CPU time isn't tracked.
+  private final RuntimeHistogram warmupCpuTimes;
+  private final RuntimeHistogram quietCpuTimes;
+  // Allocated bytes per iteration, split the same way as the runtimes. Null if allocations aren't tracked.
+  private final RuntimeHistogram warmupAllocations;
+  private final RuntimeHistogram quietAllocations;
+  // GC activity during the runs, split the same way as the runtimes
+  private final GcActivity warmupGc = new GcActivity();
+  private final GcActivity quietGc = new GcActivity();
+
+  private long[] runtimes; // Every runtime in order; null unless they're being kept
+  private long[] cpuTimes; // CPU time of every iteration in order; null unless they're being kept and tracked
+  private long[] allocations; // Allocated bytes of every iteration in order; null unless they're being kept and tracked
+  private long[] gcTimes; // GC time (or GcActivity.NO_GC) of every iteration in order; null unless runtimes are kept
+  private int count = 0;
+
+  // If keepRuntimes is false, memory use stays constant however many runtimes are recorded. Otherwise, room for
+  // `initialCapacity` runtimes is allocated up front and doubled whenever it fills up. plannedIterations is how many
+  // runtimes the benchmark is going to record, or 0 if that isn't known up front; see WarmupDetector.
+  public RuntimeRecorder(int initialCapacity, int plannedIterations, boolean keepRuntimes, boolean trackCpuTime,
+                         boolean trackAllocations) {
+    detector = new WarmupDetector(plannedIterations);
+    runtimes = keepRuntimes ? new long[initialCapacity] : null;
+    cpuTimes = keepRuntimes && trackCpuTime ? new long[initialCapacity] : null;
+    allocations = keepRuntimes && trackAllocations ? new long[initialCapacity] : null;
+    gcTimes = keepRuntimes ? new long[initialCapacity] : null;
+    warmupCpuTimes = trackCpuTime ? new RuntimeHistogram() : null;
+    quietCpuTimes = trackCpuTime ? new RuntimeHistogram() : null;
+    warmupAllocations = trackAllocations ? new RuntimeHistogram() : null;
+    quietAllocations = trackAllocations ? new RuntimeHistogram() : null;
+  }
+
+  // Records the runtime of the iteration that just finished, how much CPU time it used and how many bytes it allocated
+  // (each ignored if not tracked), and how much GC time overlapped it (GcActivity.NO_GC if no collection did). Must be
+  // called outside of the timed region. Only allocates when the arrays of kept runtimes need to grow.
+  public void record(long runtime, long cpuTime, long allocatedBytes, long gcMillis) {
+    if(runtimes != null) {
+      if(count == runtimes.length) {
+        runtimes = Arrays.copyOf(runtimes, (int)Math.min(2L*runtimes.length, MAX_ITERATIONS));
+        if(cpuTimes != null) {
+          cpuTimes = Arrays.copyOf(cpuTimes, runtimes.length);
+        }
+        if(allocations != null) {
+          allocations = Arrays.copyOf(allocations, runtimes.length);
+        }
+        gcTimes = Arrays.copyOf(gcTimes, runtimes.length);
+      }
+      runtimes[count] = runtime;
+      if(cpuTimes != null) {
+        cpuTimes[count] = cpuTime;
+      }
+      if(allocations != null) {
+        allocations[count] = allocatedBytes;
+      }
+      gcTimes[count] = gcMillis;
+    }
+    count++;
+
+    quiet.record(runtime);
+    if(quietCpuTimes != null) {
+      quietCpuTimes.record(cpuTime);
+    }
+    if(quietAllocations != null) {
+      quietAllocations.record(allocatedBytes);
+    }
+    quietGc.record(runtime, gcMillis);
+    if(!detector.isSteady()) {
+      detector.observe(runtime); // Check for JIT activity and whether runtimes have settled
+      if(!detector.isSteady() && detector.getQuietSince() == count) { // The JIT was busy during this iteration
+        quiet.moveTo(warmup);
+        if(quietCpuTimes != null) {
+          quietCpuTimes.moveTo(warmupCpuTimes);
+        }
+        if(quietAllocations != null) {
+          quietAllocations.moveTo(warmupAllocations);
+        }
+        quietGc.moveTo(warmupGc);
+      }
+    }
+  }
+
+  // Number of runtimes recorded so far
+  public int getCount() {
+    return count;
+  }
+
+  // No more runtimes fit. Only matters for adaptive benchmarks, which have no fixed number of iterations.
+  public boolean isFull() {
+    return count == MAX_ITERATIONS;
+  }
+
+  public boolean isSteady() {
+    return detector.isSteady();
+  }
+
+  // Index of the first steady-state iteration; only meaningful once isSteady()
+  public int getWarmupIterations() {
+    return detector.getWarmupIterations();
+  }
+
+  // Histogram of the steady-state runtimes (or, while no steady state has been reached yet, of the runtimes since
+  // the latest JIT activity)
+  public RuntimeHistogram getSteady() {
+    return quiet;
+  }
+
+  public BenchmarkResult toResult() {
+    long[] keptRuntimes = runtimes == null || count == runtimes.length ? runtimes : Arrays.copyOf(runtimes, count);
+    long[] keptCpuTimes = cpuTimes == null || count == cpuTimes.length ? cpuTimes : Arrays.copyOf(cpuTimes, count);
+    long[] keptAllocations = allocations == null || count == allocations.length ? allocations : Arrays.copyOf(allocations, count);
+    long[] keptGcTimes = gcTimes == null || count == gcTimes.length ? gcTimes : Arrays.copyOf(gcTimes, count);
+    return new BenchmarkResult(keptRuntimes, keptCpuTimes, keptAllocations, keptGcTimes, count,
+        detector.getWarmupIterations(), warmup, quiet, warmupCpuTimes, quietCpuTimes, warmupAllocations, quietAllocations,
+        warmupGc, quietGc, null, null);
+  }
+}
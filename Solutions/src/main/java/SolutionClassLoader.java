@@ -0,0 +1,137 @@
+/*** SolutionClassLoader.java *************************************************\
+ * Author:         twisted_nematic57                                          *
+ * Date Created:   2026-10-18                                                 *
+ * Description:    Loads one platform's solution classes on its own, so that  *
+ *                 every instance starts out with fresh static fields and     *
+ *                 runs the static initializers again. Everything else (the   *
+ *                 harness and the JDK) is shared with the application class  *
+ *                 loader. Class files are read once and reused by every      *
+ *                 instance.                                                  *
+\******************************************************************************/
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.invoke.MethodHandles;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class SolutionClassLoader extends ClassLoader {
+  // Directory that solutions are loaded from instead of the classpath, set with -Dsolvekit.solutions=dir. Null if they're
+  // on the classpath. Used with the startup cache (see StartupCache), whose jar can only hold the harness.
+  public static final Path SOLUTIONS_DIR = System.getProperty("solvekit.solutions") != null
+      ? Path.of(System.getProperty("solvekit.solutions")) : null;
+
+  // Class files of every solution class loaded so far, by class name. Read from the classpath once, then handed to
+  // defineClass() by every loader that needs the class.
+  private static final Map<String, byte[]> BYTECODE = new ConcurrentHashMap<>();
+
+  // With hot reloading on (see Daemon), the copy of each platform's solutions that resolveSolution() uses, by platform.
+  // It's kept until the class files change, so that the JIT's work on it isn't thrown away between two requests.
+  private static final Map<String, SolutionClassLoader> CURRENT = new ConcurrentHashMap<>();
+  private static volatile boolean hotReload = false;
+
+  static {
+    registerAsParallelCapable(); // Parallel mode loads several copies of a package at once
+  }
+
+  private final String packagePrefix;
+  private MethodHandles.Lookup lookup; // Created on first use
+
+  // Loads the classes of the package `platformName` (which holds that platform's solutions) by itself
+  public SolutionClassLoader(String platformName) {
+    super("solutions-" + platformName, SolutionClassLoader.class.getClassLoader());
+    this.packagePrefix = platformName + ".";
+  }
+
+  // Makes forPlatform() hand out copies that reload() can replace, instead of the classes on the classpath
+  public static void enableHotReload() {
+    hotReload = true;
+  }
+
+  // Class loader that solutions of `platformName` are normally loaded from: the application class loader, or with hot
+  // reloading on (or solutions outside of the classpath), this platform's current copy.
+  public static ClassLoader forPlatform(String platformName) {
+    if(!hotReload && SOLUTIONS_DIR == null) {
+      return SolutionClassLoader.class.getClassLoader();
+    }
+    return CURRENT.computeIfAbsent(platformName, SolutionClassLoader::new);
+  }
+
+  // Forgets every class file read so far and every current copy, so that solutions get loaded from the class files
+  // again. Returns false if nothing had been loaded since the last reload.
+  public static boolean reload() {
+    boolean loadedAny = !CURRENT.isEmpty() || !BYTECODE.isEmpty();
+    CURRENT.clear();
+    BYTECODE.clear();
+    return loadedAny;
+  }
+
+  /* Lookup with full access to this loader's own copy of SolutionLookup. InvokerFactory has to bind solutions of this
+     loader with it: LambdaMetafactory defines the invoker class in the loader of the lookup class, and an invoker in
+     the application class loader would resolve the solution's name there, calling the solution on the classpath
+     instead of this loader's copy. */
+  public synchronized MethodHandles.Lookup lookup() throws ReflectiveOperationException {
+    if(lookup == null) {
+      lookup = (MethodHandles.Lookup) loadClass(SolutionLookup.class.getName()).getMethod("lookup").invoke(null);
+    }
+    return lookup;
+  }
+
+  /* Classes of the solution package (and SolutionLookup) are defined by this loader, even though the parent could load
+     them too. That's the whole point: each loader gets its own copy of them. Anything else is left to the parent, so
+     that the solution and the harness agree on classes like SolutionInvoker. */
+  @Override
+  protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+    if(!name.startsWith(packagePrefix) && !name.equals(SolutionLookup.class.getName())) {
+      return super.loadClass(name, resolve);
+    }
+
+    synchronized(getClassLoadingLock(name)) {
+      Class<?> loaded = findLoadedClass(name);
+      if(loaded == null) {
+        byte[] bytecode = bytecode(name);
+        loaded = defineClass(name, bytecode, 0, bytecode.length);
+      }
+      if(resolve) {
+        resolveClass(loaded);
+      }
+      return loaded;
+    }
+  }
+
+  // Where the file or directory at `path` (relative to the classpath, e.g. "Codeforces/p1A.class") is: in the solutions
+  // directory if there is one and it's there, otherwise on the classpath. Null if it's nowhere.
+  public static URL resource(String path) {
+    if(SOLUTIONS_DIR != null && Files.exists(SOLUTIONS_DIR.resolve(path))) {
+      try {
+        return SOLUTIONS_DIR.resolve(path).toUri().toURL();
+      } catch(MalformedURLException e) {
+        // Can't happen for a path of the default file system
+      }
+    }
+    return ClassLoader.getSystemResource(path);
+  }
+
+  private static byte[] bytecode(String name) throws ClassNotFoundException {
+    byte[] bytecode = BYTECODE.get(name);
+    if(bytecode != null) {
+      return bytecode;
+    }
+
+    URL classFile = resource(name.replace('.', '/') + ".class");
+    if(classFile == null) {
+      throw new ClassNotFoundException(name);
+    }
+    try(InputStream in = classFile.openStream()) {
+      bytecode = in.readAllBytes();
+    } catch(IOException e) {
+      throw new ClassNotFoundException("The class file of " + name + " couldn't be read", e);
+    }
+    BYTECODE.putIfAbsent(name, bytecode); // If another thread got here first, both copies are the same anyway
+    return bytecode;
+  }
+}
@@ -0,0 +1,14 @@
+/*** SolutionInvoker.java *****************************************************\
+ * Author:         twisted_nematic57                                          *
+ * Date Created:   2026-10-17                                                 *
+ * Description:    Defines a functional interface through which handlers call *
+ *                 a solution. A solution's main method is resolved into one  *
+ *                 of these once, so the timed region only contains a direct  *
+ *                 call that the JIT can inline.                              *
+\******************************************************************************/
+
+@FunctionalInterface
+public interface SolutionInvoker {
+  // Calls the solution once, with whatever arguments were bound to it when it was resolved.
+  void invoke() throws Exception;
+}
@@ -0,0 +1,16 @@
+/*** SolutionLookup.java ******************************************************\
+ * Author:         twisted_nematic57                                          *
+ * Date Created:   2026-10-18                                                 *
+ * Description:    Hands out a lookup with full access to its own class. Each *
+ *                 SolutionClassLoader defines a copy of this class for       *
+ *                 itself, so that solutions it loads can be bound from       *
+ *                 within their own loader.                                   *
+\******************************************************************************/
+
+import java.lang.invoke.MethodHandles;
+
+public class SolutionLookup {
+  public static MethodHandles.Lookup lookup() {
+    return MethodHandles.lookup();
+  }
+}
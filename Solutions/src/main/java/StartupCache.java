@@ -0,0 +1,222 @@
+/*** StartupCache.java ********************************************************\
+ * Author:         twisted_nematic57                                          *
+ * Date Created:   2026-10-18                                                 *
+ * Description:    Trains a startup cache for SolveKit: packages the harness  *
+ *                 into a jar, runs a representative workload in a JVM that   *
+ *                 dumps the classes it loaded into an AOT cache (JDK 25+) or *
+ *                 a CDS archive, and measures how much faster SolveKit       *
+ *                 starts with it. Writes a launcher script that uses the     *
+ *                 cache.                                                     *
+\******************************************************************************/
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.jar.Attributes;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.jar.Manifest;
+import java.util.stream.Stream;
+
+public class StartupCache {
+  // Everything lands in the working directory (normally inputs). Paths are absolute, because caches are only used by
+  // JVMs whose classpath matches the one they were trained with, and IDEs pass absolute paths.
+  private static final Path JAR = Path.of("solvekit.jar").toAbsolutePath();
+  private static final Path LIBRARIES = Path.of("solvekit-lib").toAbsolutePath();
+  private static final Path LAUNCHER = Path.of("solvekit").toAbsolutePath();
+
+  // JDK 25 has AOT caches (JEP 483 and 514), which also hold linked classes and method profiles. Older JDKs (19+) get a
+  // dynamic CDS archive, which only holds parsed classes.
+  private static final boolean AOT_CACHE = Runtime.version().feature() >= 25;
+  private static final Path ARCHIVE = Path.of(AOT_CACHE ? "solvekit.aot" : "solvekit.jsa").toAbsolutePath();
+
+  private static final int STARTUP_SAMPLES = 5; // Per way of starting SolveKit
+  private static final int TRAINING_ITERATIONS = 200; // Enough to load the benchmark and statistics code
+
+  /* Args: train [{Platform}.{Specifier}-Z]
+     CDS and AOT caches can only hold classes from jar files, never from directories like target/classes. So the
+     harness gets packaged into solvekit.jar (its dependencies are copied next to it), while solutions stay where they
+     are and get loaded from there by a SolutionClassLoader. That way solutions can still be edited without training
+     again; only changes to the harness, its dependencies or the JDK need a new cache.
+
+     The startup time of `probe` (by default the first solution and test that has input) is then measured with and
+     without the cache. */
+  public static void train(String probe) throws IOException, InterruptedException {
+    Path classes = harnessDirectory();
+    List<String> workload = new ArrayList<>();
+    for(BenchmarkSuite.Item item : BenchmarkSuite.resolve(List.of("*.*"))) {
+      workload.add(item.key());
+    }
+    if(workload.isEmpty()) {
+      throw new IllegalSpecifierException("There's no solution with input to train with.");
+    }
+    if(probe == null) {
+      probe = workload.getFirst();
+    }
+
+    System.out.println("Packaging the harness into " + JAR.getFileName() + "...");
+    writeJar(classes);
+
+    System.out.println("Training with " + workload.size() + " solution(s) and test(s)...");
+    Files.deleteIfExists(ARCHIVE);
+    List<String> training = command(classes, false);
+    training.add(AOT_CACHE ? "-XX:AOTCacheOutput=" + ARCHIVE : "-XX:ArchiveClassesAtExit=" + ARCHIVE);
+    training.add("-cp");
+    training.add(JAR.toString());
+    training.add(StartupCache.class.getName());
+    training.addAll(workload);
+    if(run(training) != 0 || !Files.exists(ARCHIVE)) {
+      throw new IOException("The training run didn't produce " + ARCHIVE.getFileName() + "; see the errors above.");
+    }
+    writeLauncher(classes);
+
+    // Interleaved, so that anything else going on in the machine affects all three about the same
+    System.out.println("Measuring the startup time of " + probe + "...");
+    long[][] startups = new long[3][STARTUP_SAMPLES];
+    for(int sample = 0; sample < STARTUP_SAMPLES; sample++) {
+      List<String> classpath = ForkedBenchmark.javaCommand();
+      classpath.addAll(List.of("-cp", System.getProperty("java.class.path"), Main.class.getName(), probe));
+      startups[0][sample] = time(classpath);
+      startups[1][sample] = time(probeCommand(classes, false, probe));
+      startups[2][sample] = time(probeCommand(classes, true, probe));
+    }
+    BenchmarkReporter.showStartupTimes(probe, ARCHIVE.getFileName().toString(), startups);
+
+    System.out.println("\n" + LAUNCHER.getFileName() + " starts SolveKit with the cache, e.g. \"./" + LAUNCHER.getFileName() +
+        " " + probe + "\". Train again after changing the harness, its dependencies or the JDK.");
+  }
+
+  /* Entry point of the training JVM. Args: the "{Platform}.{Specifier}-Z" of every solution and test to train with.
+     Runs each of them once the way run mode does, then benchmarks the first one and reports on it, so that the
+     classes of every platform, of the benchmark loop and of the statistics end up in the cache. Nothing is added to
+     the benchmark history. The parent discards whatever this prints. */
+  static void main(String[] args) throws Exception {
+    CpuClock.install();
+    for(String key : args) {
+      Main.handle(new String[] {key});
+    }
+
+    PlatformHandler handler = Main.HANDLERS.get(args[0].substring(0, args[0].indexOf("."))).get();
+    SolutionSpecifier first = new SolutionSpecifier(args[0].substring(args[0].indexOf(".") + 1, args[0].indexOf("-")),
+        args[0].charAt(args[0].length() - 1) - '0');
+    BenchmarkResult result = handler.benchmarkSolution(first, TRAINING_ITERATIONS, true, BenchmarkOptions.defaults());
+    BenchmarkReporter.showBenchmarkResults(result, result.warmupStatistics(), result.steadyStatistics());
+  }
+
+  // The classpath directory that holds the harness (and, next to it, the solutions), e.g. target/classes
+  private static Path harnessDirectory() {
+    for(String entry : System.getProperty("java.class.path").split(File.pathSeparator)) {
+      Path directory = Path.of(entry).toAbsolutePath();
+      if(Files.isRegularFile(directory.resolve(Main.class.getName() + ".class"))) {
+        return directory;
+      }
+    }
+    throw new IllegalSpecifierException("Train mode has to run from SolveKit's class directory (e.g. target/classes), " +
+        "not from a jar.");
+  }
+
+  /* solvekit.jar gets every class in `classes` except the solutions (the packages of the platforms), and a manifest
+     that puts the jars of the rest of the classpath on its classpath. Those are copied to solvekit-lib, since a
+     manifest can only point to them with relative paths. */
+  private static void writeJar(Path classes) throws IOException {
+    Files.createDirectories(LIBRARIES);
+    List<String> libraries = new ArrayList<>();
+    for(String entry : System.getProperty("java.class.path").split(File.pathSeparator)) {
+      Path library = Path.of(entry);
+      if(Files.isRegularFile(library) && library.toString().endsWith(".jar")) {
+        Files.copy(library, LIBRARIES.resolve(library.getFileName()), StandardCopyOption.REPLACE_EXISTING);
+        libraries.add(LIBRARIES.getFileName() + "/" + library.getFileName());
+      }
+    }
+
+    Manifest manifest = new Manifest();
+    manifest.getMainAttributes().put(Attributes.Name.MANIFEST_VERSION, "1.0");
+    manifest.getMainAttributes().put(Attributes.Name.MAIN_CLASS, Main.class.getName());
+    if(!libraries.isEmpty()) {
+      manifest.getMainAttributes().put(Attributes.Name.CLASS_PATH, String.join(" ", libraries));
+    }
+
+    Path temporary = Files.createTempFile(JAR.getParent(), "solvekit", ".jar");
+    try(JarOutputStream jar = new JarOutputStream(Files.newOutputStream(temporary), manifest);
+        Stream<Path> files = Files.walk(classes)) {
+      for(Path file : files.filter(Files::isRegularFile).toList()) {
+        Path relative = classes.relativize(file);
+        if(relative.getNameCount() > 1 && Main.HANDLERS.containsKey(relative.getName(0).toString())) {
+          continue; // A solution
+        }
+        jar.putNextEntry(new JarEntry(relative.toString().replace(File.separatorChar, '/')));
+        Files.copy(file, jar);
+        jar.closeEntry();
+      }
+    }
+    Files.move(temporary, JAR, StandardCopyOption.REPLACE_EXISTING);
+  }
+
+  // A shell script that starts SolveKit from the jar with the cache, passing its arguments on to Main
+  private static void writeLauncher(Path classes) throws IOException {
+    List<String> command = probeCommand(classes, true, null);
+    StringBuilder script = new StringBuilder("#!/bin/sh\n");
+    script.append("# Written by SolveKit's train mode. Starts SolveKit with its startup cache (").append(ARCHIVE.getFileName())
+        .append(").\nexec");
+    for(String arg : command) {
+      script.append(" '").append(arg.replace("'", "'\\''")).append("'");
+    }
+    script.append(" \"$@\"\n");
+    Files.writeString(LAUNCHER, script);
+    try {
+      Files.setPosixFilePermissions(LAUNCHER, PosixFilePermissions.fromString("rwxr-xr-x"));
+    } catch(UnsupportedOperationException e) {
+      // Not a POSIX file system, so there's nothing to mark as executable
+    }
+  }
+
+  // Starts Main from the jar, with or without the cache. Without `probe`, Main gets no arguments.
+  private static List<String> probeCommand(Path classes, boolean withCache, String probe) {
+    List<String> command = command(classes, withCache);
+    command.addAll(List.of("-cp", JAR.toString(), Main.class.getName()));
+    if(probe != null) {
+      command.add(probe);
+    }
+    return command;
+  }
+
+  // The java binary and JVM arguments of this JVM, minus any cache it was started with, plus where the solutions are
+  private static List<String> command(Path classes, boolean withCache) {
+    List<String> command = new ArrayList<>();
+    for(String arg : ForkedBenchmark.javaCommand()) {
+      if(Arrays.stream(new String[] {"-XX:SharedArchiveFile=", "-XX:ArchiveClassesAtExit=", "-XX:AOTCache=",
+          "-XX:AOTCacheOutput=", "-XX:AOTMode=", "-Dsolvekit.solutions="}).noneMatch(arg::startsWith)) {
+        command.add(arg);
+      }
+    }
+    command.add(1, "-Dsolvekit.solutions=" + classes);
+    if(withCache) {
+      command.add(1, AOT_CACHE ? "-XX:AOTCache=" + ARCHIVE : "-XX:SharedArchiveFile=" + ARCHIVE);
+    }
+    return command;
+  }
+
+  // Runs a JVM, discarding what it prints to stdout. Returns its exit code.
+  private static int run(List<String> command) throws IOException, InterruptedException {
+    return new ProcessBuilder(command)
+        .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+        .redirectError(ProcessBuilder.Redirect.INHERIT)
+        .start()
+        .waitFor();
+  }
+
+  // Wall-clock time in ns from starting a JVM until it exits
+  private static long time(List<String> command) throws IOException, InterruptedException {
+    long start = System.nanoTime();
+    if(run(command) != 0) {
+      throw new IOException("SolveKit exited with an error while its startup time was measured: " + String.join(" ", command));
+    }
+    return System.nanoTime() - start;
+  }
+}
@@ -6,10 +6,8 @@
  *                 the appropriate values for those stat vars.                *
 \******************************************************************************/
 
-import org.apfloat.Apint; // For accurate statistics calculations
-import org.apfloat.ApintMath;
-
 import java.util.Arrays;
+import java.util.function.LongUnaryOperator;
 
 public class Statistics {
   private int runs; // == "n" in stats formulas as seen in textbooks
@@ -18,74 +16,264 @@ public class Statistics {
   private long q1;
   private long median;
   private long q3;
+  private long p90;
+  private long p99;
+  private long p999; // 99.9th percentile
   private long max;
   private long stddev; // Population, not sample, since sample makes no sense for our case
-  private Apint timeSum;
+  private long timeSum;
   private int timeSum_h;
   private int timeSum_m;
   private int timeSum_s;
   private int timeSum_ms;
 
+  // Runtimes behind these statistics, for the confidence intervals. Those are computed when they're first asked for,
+  // since many Statistics (e.g. those of each fork) never get them displayed. Statistics(long[]) keeps the sorted
+  // runtimes instead, and only turns them into a histogram then.
+  private RuntimeHistogram histogram;
+  private long[] sorted;
+  private long[] confidenceIntervals; // Half-widths for {mean, Q1, median, Q3}; see Bootstrap
+
   // As soon as the class is constructed, calculate statistics about it.
-  // data is expected to be an unsorted array of longs.
+  // data is expected to be an unsorted array of non-negative longs. It gets sorted in place and kept for the confidence
+  // intervals, so pass a copy if the original order matters. An empty array gives all 0s, like an empty histogram does.
   public Statistics(long[] data) {
+    sorted = data;
+    if(data.length == 0) {
+      splitTimeSum();
+      return;
+    }
+
     // Sort the data ascending (the least element goes to position 0, etc.)
-    data = Arrays.stream(data).sorted().toArray();
+    Arrays.parallelSort(data);
 
     runs = data.length; // Total number of data points
     min = data[0]; // Minimum
     max = data[runs-1]; // Maximum
 
-    timeSum = new Apint(0); // Sum of all runtimes
+    // Sum of all runtimes, as a 128-bit unsigned integer (sumHi:sumLo). n non-negative longs add up to less than
+    // 2^94, so this can't overflow, and the mean comes out exact.
+    long sumHi = 0;
+    long sumLo = 0;
     for(int i = 0; i < runs; i++) {
-      timeSum = timeSum.add(new Apint(data[i]));
+      sumLo += data[i];
+      if(Long.compareUnsigned(sumLo, data[i]) < 0) { // Carry out of the low word
+        sumHi++;
+      }
     }
-    mean = Long.parseLong(timeSum.divide(new Apint(runs)).toString()); // Mean
-
-    // Quartile formula: `(x/4)*(n+1)`th term, where x = 1 for Q1, x = 2 for median, and x = 3 for Q3
-    // Form used below: `(n+1)*(x/4)` where `x/4` is in decimal form
-    final double q1pos = ((runs+1)*0.25)-1; // Doubles are accurate enough in [2^31 - 1, 2^32 - 1] for this usecase.
-    final double medianpos = ((runs+1)*0.50)-1; // -1 at the end because arrays are zero-indexed. The quartile formula
-    final double q3pos = ((runs+1)*0.75)-1;     // only gives answers assuming 1-indexing of elements
-
-    if(q1pos - (int)q1pos < 0.1) { // Q1 is at data[q1pos] exactly.
-      q1 = data[(int)q1pos];
-    } else { // If Q1 isn't exactly at q1pos, average the values adjacent to it
-      q1 = (data[(int)(q1pos+1)] + data[(int)q1pos]) / 2;
+    // The sum is the total time spent in the solution, which fits in a long unless it took longer than 292 years
+    timeSum = (sumHi != 0 || sumLo < 0) ? Long.MAX_VALUE : sumLo;
+
+    // Mean = floor(sum / n), computed by long division in 32-bit digits. Each partial dividend is (remainder < n) * 2^32
+    // + digit < 2^63, so it never overflows. The remainder is kept to correct the variance below.
+    long remainder = 0;
+    long quotient = 0;
+    final long[] digits = {sumHi >>> 32, sumHi & 0xFFFFFFFFL, sumLo >>> 32, sumLo & 0xFFFFFFFFL};
+    for(long digit : digits) {
+      long dividend = (remainder << 32) | digit;
+      quotient = (quotient << 32) | (dividend / runs); // Upper digits of the quotient are 0 since mean <= max
+      remainder = dividend % runs;
     }
+    mean = quotient; // Mean
+
+    q1 = quantile(runs, 0.25, rank -> data[(int)rank]);
+    median = quantile(runs, 0.50, rank -> data[(int)rank]);
+    q3 = quantile(runs, 0.75, rank -> data[(int)rank]);
+    p90 = quantile(runs, 0.90, rank -> data[(int)rank]);
+    p99 = quantile(runs, 0.99, rank -> data[(int)rank]);
+    p999 = quantile(runs, 0.999, rank -> data[(int)rank]);
 
-    if(medianpos - (int)medianpos < 0.1) { // Median is at data[medianpos] exactly.
-      median = data[(int)medianpos];
-    } else { // If median isn't exactly at medianpos, average the values adjacent to it
-      median = (data[(int)(medianpos+1)] + data[(int)medianpos]) / 2;
+    // Population standard deviation calculation
+    // Σ(X - mean)^2 is accumulated exactly in 192 bits (sqTop:sqHi:sqLo): each square is < 2^126 and there are fewer
+    // than 2^31 of them.
+    long sqTop = 0;
+    long sqHi = 0;
+    long sqLo = 0;
+    for(int i = 0; i < runs; i++) {
+      long deviation = data[i] - mean; // Fits in a long because 0 <= mean <= max
+      long squareLo = deviation * deviation;
+      long squareHi = Math.multiplyHigh(deviation, deviation);
+      sqLo += squareLo;
+      if(Long.compareUnsigned(sqLo, squareLo) < 0) { // Carry into the middle word
+        squareHi++; // Can't overflow, since squareHi < 2^62
+      }
+      sqHi += squareHi;
+      if(Long.compareUnsigned(sqHi, squareHi) < 0) { // Carry into the top word
+        sqTop++;
+      }
     }
 
-    if(q3pos - (int)q3pos < 0.1) { // Q3 is at data[q3pos] exactly.
-      q3 = data[(int)q3pos];
-    } else { // If Q3 isn't exactly at q3pos, average the values adjacent to it
-      q3 = (data[(int)(q3pos+1)] + data[(int)q3pos]) / 2;
+    // The mean above was floored, and the true mean is mean + remainder/n. Shifting the center of a sum of squares by
+    // d changes it by n*d^2, so the variance about the true mean is Σ(X - mean)^2/n - (remainder/n)^2. This is the only
+    // place where rounding happens: the exact sum gets converted to a double once.
+    final double twoTo64 = 0x1p64;
+    final double unnormalizedVariance = (sqTop*twoTo64 + unsignedToDouble(sqHi))*twoTo64 + unsignedToDouble(sqLo);
+    final double meanFraction = (double)remainder / runs;
+    final double variance = Math.max(0, unnormalizedVariance/runs - meanFraction*meanFraction);
+    // We don't care about the fractional part of the square root (since we're dealing in nanoseconds, it isn't
+    // significant)
+    stddev = (long)Math.sqrt(variance);
+
+    splitTimeSum();
+  }
+
+  // Calculates statistics from a histogram instead of from every runtime, which takes constant time and memory however
+  // many runs there were. Runs, min, max, mean and the time sum are still exact; percentiles are accurate to
+  // RuntimeHistogram.RELATIVE_RESOLUTION, and the stddev to floating-point precision. An empty histogram gives all 0s.
+  public Statistics(RuntimeHistogram histogram) {
+    this.histogram = histogram;
+    runs = (int)histogram.getCount();
+    timeSum = histogram.getSum();
+    if(runs > 0) {
+      min = histogram.getMin();
+      max = histogram.getMax();
+      mean = timeSum / runs;
+      q1 = quantile(runs, 0.25, histogram::valueAtRank);
+      median = quantile(runs, 0.50, histogram::valueAtRank);
+      q3 = quantile(runs, 0.75, histogram::valueAtRank);
+      p90 = quantile(runs, 0.90, histogram::valueAtRank);
+      p99 = quantile(runs, 0.99, histogram::valueAtRank);
+      p999 = quantile(runs, 0.999, histogram::valueAtRank);
+      stddev = (long)histogram.getStddev();
     }
+    splitTimeSum();
+  }
 
-    // Population standard deviation calculation
-    Apint unnormalizedVariance = new Apint(0);
-    for(int i = 0; i < runs; i++) { // Compute unnormalized variance = Σ(X - μ)^2
-      unnormalizedVariance = unnormalizedVariance
-          .add(ApintMath.pow(new Apint(data[i] - mean), 2));
+  /* Value at a quantile (e.g. 0.25 for Q1) of `n` runtimes, given the value of the runtime with each (zero-indexed)
+     rank. This is the one definition that every quantile in SolveKit uses, whether it comes from every runtime, from a
+     histogram, or from a bootstrap resample.
+
+     Quantile formula: `(n+1)*q`th term, e.g. `(n+1)*(x/4)` for the xth quartile. -1 because ranks are zero-indexed,
+     while the formula assumes 1-indexing. If the position isn't on an element exactly, the two elements adjacent to it
+     are averaged. With fewer than 3 runs (e.g. a short warmup) the formula points past the end; such ranks are clamped
+     to the last runtime. */
+  public static long quantile(long n, double q, LongUnaryOperator valueAtRank) {
+    final double position = (n+1)*q - 1; // Doubles are accurate enough for any int n
+    final long below = Math.clamp((long)position, 0, n - 1);
+    final long lower = valueAtRank.applyAsLong(below);
+    if(position - below < 0.1) { // The quantile is at rank `below` exactly
+      return lower;
     }
+    final long upper = valueAtRank.applyAsLong(Math.min(below + 1, n - 1));
+    return lower + (upper - lower)/2; // Average without overflowing
+  }
+
+  // Converts a long holding an unsigned 64-bit value to the nearest double.
+  private static double unsignedToDouble(long value) {
+    double d = (double)(value >>> 1) * 2; // Halve so it's positive, then double back up
+    return d + (value & 1);
+  }
 
-    // Calculate stddev to 20 sigfigs (we can't possibly need more than 20 right?)
-    // Computes sqrt(u/runs) where u = unnormalized variance; array access [0] because we don't care about the
-    // remainder from integer square rooting (since we're dealing in nanoseconds, it isn't significant)
-    stddev = Long.parseLong(ApintMath.sqrt(unnormalizedVariance.divide(new Apint(runs)))[0].toString());
+  private Statistics() { } // For minusOverhead()
+
+  // Returns a copy of these statistics with `overhead` ns taken off of every runtime (but never going below 0). The
+  // spread of the runtimes (stddev) doesn't change, but the confidence intervals grow by the overhead's error bound.
+  public Statistics minusOverhead(long overhead, double errorBound) {
+    Statistics net = new Statistics();
+    net.runs = runs;
+    net.mean = Math.max(0, mean - overhead);
+    net.min = Math.max(0, min - overhead);
+    net.q1 = Math.max(0, q1 - overhead);
+    net.median = Math.max(0, median - overhead);
+    net.q3 = Math.max(0, q3 - overhead);
+    net.p90 = Math.max(0, p90 - overhead);
+    net.p99 = Math.max(0, p99 - overhead);
+    net.p999 = Math.max(0, p999 - overhead);
+    net.max = Math.max(0, max - overhead);
+    net.stddev = stddev;
+    net.confidenceIntervals = getConfidenceIntervals().clone();
+    for(int i = 0; i < net.confidenceIntervals.length; i++) {
+      net.confidenceIntervals[i] += (long)Math.ceil(errorBound);
+    }
+    net.timeSum = Math.max(0, timeSum - overhead*runs);
+    net.splitTimeSum();
+    return net;
+  }
+
+  // Splits the time sum into hours, minutes, seconds and milliseconds.
+  private void splitTimeSum() {
+    long remainder = timeSum;
+    timeSum_h = (int)(remainder / 3_600_000_000_000L);
+    remainder %= 3_600_000_000_000L;
+    timeSum_m = (int)(remainder / 60_000_000_000L);
+    remainder %= 60_000_000_000L;
+    timeSum_s = (int)(remainder / 1_000_000_000L);
+    remainder %= 1_000_000_000L;
+    timeSum_ms = (int)(remainder / 1_000_000L);
+  }
+
+  /* Standard deviation estimated from the median absolute deviation of `sorted`, which, unlike the real standard
+     deviation, a few extreme outliers (e.g. GC pauses) can't inflate. The factor makes it match the standard deviation
+     for normally distributed values. */
+  public static double robustStddev(long[] sorted) {
+    if(sorted.length == 0) {
+      return 0;
+    }
+    final double median = sorted.length % 2 == 1 ? sorted[sorted.length / 2]
+        : (sorted[sorted.length/2 - 1] + sorted[sorted.length / 2]) / 2.0;
+    final double[] deviations = new double[sorted.length];
+    for(int i = 0; i < sorted.length; i++) {
+      deviations[i] = Math.abs(sorted[i] - median);
+    }
+    Arrays.sort(deviations);
+    final double mad = deviations.length % 2 == 1 ? deviations[deviations.length / 2]
+        : (deviations[deviations.length/2 - 1] + deviations[deviations.length / 2]) / 2;
+    return 1.4826 * mad;
+  }
 
-    Apint remainder = timeSum;
-    timeSum_h = Integer.parseInt(remainder.divide(new Apint("3600000000000")).toString());
-    remainder = remainder.mod(new Apint("3600000000000"));
-    timeSum_m = Integer.parseInt(remainder.divide(new Apint("60000000000")).toString());
-    remainder = remainder.mod(new Apint("60000000000"));
-    timeSum_s = Integer.parseInt(remainder.divide(new Apint("1000000000")).toString());
-    remainder = remainder.mod(new Apint("1000000000"));
-    timeSum_ms = Integer.parseInt(remainder.divide(new Apint("1000000")).toString());
+  /* Distribution-free confidence interval for the median of `n` sorted values: the interval between two order
+     statistics whose ranks are z*sqrt(n)/2 away from the middle (normal approximation of the binomial distribution).
+     Returns {lower bound, upper bound}. */
+  public static long[] medianConfidenceInterval(long[] sorted, int n, double confidence) {
+    final long[] ranks = medianConfidenceRanks(n, confidence);
+    return new long[] {sorted[(int)ranks[0]], sorted[(int)ranks[1]]};
+  }
+
+  // Zero-indexed ranks of the order statistics that bound the confidence interval above. Returns {lower, upper}.
+  public static long[] medianConfidenceRanks(long n, double confidence) {
+    final double z = normalQuantile(1 - (1-confidence)/2); // Two-sided
+    final double halfWidth = z*Math.sqrt(n)/2;
+    final long lower = Math.max(0, (long)Math.floor(n/2.0 - halfWidth) - 1); // -1 because the formula is 1-indexed
+    final long upper = Math.min(n-1, (long)Math.ceil(n/2.0 + halfWidth));
+    return new long[] {lower, upper};
+  }
+
+  /* Inverse of the standard normal CDF, i.e. the z such that P(Z <= z) = p. Uses Peter Acklam's rational
+     approximation, which has a relative error below 1.15e-9 over (0, 1). */
+  public static double normalQuantile(double p) {
+    final double[] a = {-3.969683028665376e+01, 2.209460984245205e+02, -2.759285104469687e+02,
+                         1.383577518672690e+02, -3.066479806614716e+01, 2.506628277459239e+00};
+    final double[] b = {-5.447609879822406e+01, 1.615858368580409e+02, -1.556989798598866e+02,
+                         6.680131188771972e+01, -1.328068155288572e+01};
+    final double[] c = {-7.784894002430293e-03, -3.223964580411365e-01, -2.400758277161838e+00,
+                        -2.549732539343734e+00, 4.374664141464968e+00, 2.938163982698783e+00};
+    final double[] d = {7.784695709041462e-03, 3.224671290700398e-01, 2.445134137142996e+00, 3.754408661907416e+00};
+    final double pLow = 0.02425; // Below this (and above 1 - this), the tails need their own approximation
+
+    if(p < pLow) { // Lower tail
+      double q = Math.sqrt(-2*Math.log(p));
+      return (((((c[0]*q + c[1])*q + c[2])*q + c[3])*q + c[4])*q + c[5]) /
+             ((((d[0]*q + d[1])*q + d[2])*q + d[3])*q + 1);
+    } else if(p > 1 - pLow) { // Upper tail
+      double q = Math.sqrt(-2*Math.log(1 - p));
+      return -(((((c[0]*q + c[1])*q + c[2])*q + c[3])*q + c[4])*q + c[5]) /
+              ((((d[0]*q + d[1])*q + d[2])*q + d[3])*q + 1);
+    } else { // Central region
+      double q = p - 0.5;
+      double r = q*q;
+      return (((((a[0]*r + a[1])*r + a[2])*r + a[3])*r + a[4])*r + a[5])*q /
+             (((((b[0]*r + b[1])*r + b[2])*r + b[3])*r + b[4])*r + 1);
+    }
+  }
+
+  /* P(Z > z) for a standard normal Z, via the complementary error function. Uses the Chebyshev fit from Numerical
+     Recipes, whose relative error stays below 1.2e-7 even far out in the tail, where tiny p-values live. */
+  public static double normalUpperTail(double z) {
+    final double x = Math.abs(z) / Math.sqrt(2);
+    final double t = 1 / (1 + 0.5*x);
+    final double erfc = t * Math.exp(-x*x - 1.26551223 + t*(1.00002368 + t*(0.37409196 + t*(0.09678418 +
+        t*(-0.18628806 + t*(0.27886807 + t*(-1.13520398 + t*(1.48851587 + t*(-0.82215223 + t*0.17087277)))))))));
+    return z >= 0 ? erfc/2 : 1 - erfc/2;
   }
 
   public int getRuns() {
@@ -112,6 +300,18 @@ public class Statistics {
     return q3;
   }
 
+  public long getP90() {
+    return p90;
+  }
+
+  public long getP99() {
+    return p99;
+  }
+
+  public long getP999() {
+    return p999;
+  }
+
   public long getMax() {
     return max;
   }
@@ -120,7 +320,38 @@ public class Statistics {
     return stddev;
   }
 
-  public Apint getTimeSum() {
+  // Half-widths of the 95% bootstrap confidence intervals, in ns
+  public long getMeanCI() {
+    return getConfidenceIntervals()[0];
+  }
+
+  public long getQ1CI() {
+    return getConfidenceIntervals()[1];
+  }
+
+  public long getMedianCI() {
+    return getConfidenceIntervals()[2];
+  }
+
+  public long getQ3CI() {
+    return getConfidenceIntervals()[3];
+  }
+
+  private long[] getConfidenceIntervals() {
+    if(confidenceIntervals == null) {
+      if(histogram == null) {
+        histogram = new RuntimeHistogram();
+        for(long runtime : sorted) {
+          histogram.record(runtime);
+        }
+        sorted = null;
+      }
+      confidenceIntervals = Bootstrap.halfWidths(histogram);
+    }
+    return confidenceIntervals;
+  }
+
+  public long getTimeSum() {
     return timeSum;
   }
 
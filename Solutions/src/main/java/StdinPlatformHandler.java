@@ -0,0 +1,60 @@
+/*** StdinPlatformHandler.java ************************************************\
+ * Author:         twisted_nematic57                                          *
+ * Date Created:   2026-10-17                                                 *
+ * Description:    Implements the parts of a platform handler that are shared *
+ *                 by all platforms which feed input to solutions through     *
+ *                 stdin.                                                     *
+\******************************************************************************/
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Paths;
+import java.util.List;
+
+public abstract class StdinPlatformHandler implements PlatformHandler {
+  private final String platformName; // Name of the package holding this platform's solutions and of its input directory
+  private ByteBuffer cachedInput; // Mapped by InputCache, not copied onto the heap
+  private InputCache.BufferInputStream stdin;
+
+  protected StdinPlatformHandler(String platformName) {
+    this.platformName = platformName;
+  }
+
+  // Map the input file into memory (or reuse the mapping if it's still in InputCache) to avoid excessive disk accesses
+  // later.
+  @Override
+  public void loadInput(SolutionSpecifier thisSolution) throws IOException {
+    cachedInput = InputCache.get(
+        Paths.get(platformName + "/i_" + thisSolution.name() + "_" + thisSolution.test() + ".txt")
+    );
+  }
+
+  // Sets stdin of the current thread to the cached input. The same stream is kept for every run afterward and just
+  // gets rewound.
+  @Override
+  public void passStdInput() {
+    stdin = new InputCache.BufferInputStream(cachedInput);
+    StdioMultiplexer.setIn(stdin);
+  }
+
+  // Rewinds stdin to the beginning of the cached input.
+  @Override
+  public void resetInput() {
+    stdin.reset();
+  }
+
+  @Override
+  public String platformName() {
+    return platformName;
+  }
+
+  @Override
+  public List<Integer> availableTests(String solutionName) {
+    return PlatformHandler.testsWithInputFiles(platformName(), solutionName);
+  }
+
+  @Override
+  public SolutionInvoker bindMain(Class<?> mainClass, SolutionSpecifier thisSolution) throws Exception {
+    return InvokerFactory.forNoArgMain(mainClass);
+  }
+}
@@ -0,0 +1,375 @@
+/*** StdioMultiplexer.java ****************************************************\
+ * Author:         twisted_nematic57                                          *
+ * Date Created:   2026-10-18                                                 *
+ * Description:    Replaces System.in, System.out and System.err with streams *
+ *                 that route every call to the current thread's own streams. *
+ *                 Lets each thread redirect its standard I/O without         *
+ *                 affecting any other thread, so that solutions can run      *
+ *                 concurrently in one JVM with separate input and output.    *
+ *                 Only installed by modes that need it, since the routing    *
+ *                 costs a ThreadLocal lookup per call; until then,           *
+ *                 redirecting a stream simply replaces it.                   *
+\******************************************************************************/
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.Charset;
+import java.util.Locale;
+
+public class StdioMultiplexer {
+  // The standard streams as they were before the multiplexer replaced them. Threads that haven't redirected a stream
+  // (and every thread after it resets it) use these.
+  private static final InputStream CONSOLE_IN = System.in;
+  private static final PrintStream CONSOLE_OUT = System.out;
+  private static final PrintStream CONSOLE_ERR = System.err;
+
+  // Streams of each thread. A plain ThreadLocal, so virtual threads get their own as well, and threads that a solution
+  // starts (e.g. the common pool behind parallel streams) use the console instead of inheriting their creator's.
+  private static final ThreadLocal<Routes> ROUTES = ThreadLocal.withInitial(Routes::new);
+
+  // Whether the routing streams have replaced the standard streams. Until then, the methods below act on System.in,
+  // System.out and System.err directly, which is all that single-threaded modes need.
+  private static volatile boolean installed = false;
+
+  private static final class Routes {
+    InputStream in = CONSOLE_IN;
+    PrintStream out = CONSOLE_OUT;
+    PrintStream err = CONSOLE_ERR;
+  }
+
+  /* Replaces the standard streams with the routing ones, for modes that run solutions on several threads at once
+     (parallel mode and the daemon). Whatever the standard streams were when this class was initialized is the
+     console. Stays installed for the rest of the JVM's life; calling it again does nothing.
+
+     Once installed, every call a solution makes on System.in/out/err costs a ThreadLocal lookup and one more virtual
+     call on top of the stream it ends up in. That's small, but it lands inside the timed region, so modes that run
+     one solution at a time don't install the multiplexer and keep those figures clean. */
+  public static synchronized void install() {
+    if(installed) {
+      return;
+    }
+    System.setIn(new RoutingInputStream());
+    System.setOut(new RoutingPrintStream(false));
+    System.setErr(new RoutingPrintStream(true));
+    installed = true;
+  }
+
+  // Streams that the current thread sees as System.in/out/err
+  public static InputStream in() {
+    return installed ? ROUTES.get().in : System.in;
+  }
+
+  public static PrintStream out() {
+    return installed ? ROUTES.get().out : System.out;
+  }
+
+  public static PrintStream err() {
+    return installed ? ROUTES.get().err : System.err;
+  }
+
+  // Redirects one of the current thread's standard streams (or, if the multiplexer isn't installed, the standard stream
+  // itself). Null points it back at the console.
+  public static void setIn(InputStream in) {
+    if(installed) {
+      ROUTES.get().in = in != null ? in : CONSOLE_IN;
+    } else {
+      System.setIn(in != null ? in : CONSOLE_IN);
+    }
+  }
+
+  public static void setOut(PrintStream out) {
+    if(installed) {
+      ROUTES.get().out = out != null ? out : CONSOLE_OUT;
+    } else {
+      System.setOut(out != null ? out : CONSOLE_OUT);
+    }
+  }
+
+  public static void setErr(PrintStream err) {
+    if(installed) {
+      ROUTES.get().err = err != null ? err : CONSOLE_ERR;
+    } else {
+      System.setErr(err != null ? err : CONSOLE_ERR);
+    }
+  }
+
+  // Points all of the current thread's standard streams back at the console, e.g. before a pooled thread moves on.
+  public static void reset() {
+    if(installed) {
+      ROUTES.remove();
+    } else {
+      setIn(null);
+      setOut(null);
+      setErr(null);
+    }
+  }
+
+  // System.in. Every method is forwarded, so that streams with faster bulk reads than InputStream's defaults keep them.
+  private static final class RoutingInputStream extends InputStream {
+    @Override
+    public int read() throws IOException {
+      return in().read();
+    }
+
+    @Override
+    public int read(byte[] b) throws IOException {
+      return in().read(b);
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+      return in().read(b, off, len);
+    }
+
+    @Override
+    public byte[] readAllBytes() throws IOException {
+      return in().readAllBytes();
+    }
+
+    @Override
+    public byte[] readNBytes(int len) throws IOException {
+      return in().readNBytes(len);
+    }
+
+    @Override
+    public int readNBytes(byte[] b, int off, int len) throws IOException {
+      return in().readNBytes(b, off, len);
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+      return in().skip(n);
+    }
+
+    @Override
+    public void skipNBytes(long n) throws IOException {
+      in().skipNBytes(n);
+    }
+
+    @Override
+    public int available() throws IOException {
+      return in().available();
+    }
+
+    @Override
+    public void close() throws IOException {
+      in().close();
+    }
+
+    @Override
+    public void mark(int readlimit) {
+      in().mark(readlimit);
+    }
+
+    @Override
+    public void reset() throws IOException {
+      in().reset();
+    }
+
+    @Override
+    public boolean markSupported() {
+      return in().markSupported();
+    }
+
+    @Override
+    public long transferTo(OutputStream out) throws IOException {
+      return in().transferTo(out);
+    }
+  }
+
+  /* System.out and System.err. Every public method of PrintStream is forwarded as a whole, instead of routing the
+     bytes underneath a single PrintStream: its methods all hold one lock, which concurrent solutions would otherwise
+     have to take turns on, and its encoder would mix up characters that different threads print at the same time. */
+  private static final class RoutingPrintStream extends PrintStream {
+    private final boolean isErr;
+
+    RoutingPrintStream(boolean isErr) {
+      super(OutputStream.nullOutputStream()); // Never written to
+      this.isErr = isErr;
+    }
+
+    private PrintStream target() {
+      Routes routes = ROUTES.get();
+      return isErr ? routes.err : routes.out;
+    }
+
+    @Override
+    public void flush() {
+      target().flush();
+    }
+
+    @Override
+    public void close() {
+      target().close();
+    }
+
+    @Override
+    public boolean checkError() {
+      return target().checkError();
+    }
+
+    @Override
+    public void write(int b) {
+      target().write(b);
+    }
+
+    @Override
+    public void write(byte[] buf, int off, int len) {
+      target().write(buf, off, len);
+    }
+
+    @Override
+    public void write(byte[] buf) throws IOException {
+      target().write(buf);
+    }
+
+    @Override
+    public void writeBytes(byte[] buf) {
+      target().writeBytes(buf);
+    }
+
+    @Override
+    public void print(boolean b) {
+      target().print(b);
+    }
+
+    @Override
+    public void print(char c) {
+      target().print(c);
+    }
+
+    @Override
+    public void print(int i) {
+      target().print(i);
+    }
+
+    @Override
+    public void print(long l) {
+      target().print(l);
+    }
+
+    @Override
+    public void print(float f) {
+      target().print(f);
+    }
+
+    @Override
+    public void print(double d) {
+      target().print(d);
+    }
+
+    @Override
+    public void print(char[] s) {
+      target().print(s);
+    }
+
+    @Override
+    public void print(String s) {
+      target().print(s);
+    }
+
+    @Override
+    public void print(Object obj) {
+      target().print(obj);
+    }
+
+    @Override
+    public void println() {
+      target().println();
+    }
+
+    @Override
+    public void println(boolean x) {
+      target().println(x);
+    }
+
+    @Override
+    public void println(char x) {
+      target().println(x);
+    }
+
+    @Override
+    public void println(int x) {
+      target().println(x);
+    }
+
+    @Override
+    public void println(long x) {
+      target().println(x);
+    }
+
+    @Override
+    public void println(float x) {
+      target().println(x);
+    }
+
+    @Override
+    public void println(double x) {
+      target().println(x);
+    }
+
+    @Override
+    public void println(char[] x) {
+      target().println(x);
+    }
+
+    @Override
+    public void println(String x) {
+      target().println(x);
+    }
+
+    @Override
+    public void println(Object x) {
+      target().println(x);
+    }
+
+    @Override
+    public PrintStream printf(String format, Object... args) {
+      target().printf(format, args);
+      return this;
+    }
+
+    @Override
+    public PrintStream printf(Locale l, String format, Object... args) {
+      target().printf(l, format, args);
+      return this;
+    }
+
+    @Override
+    public PrintStream format(String format, Object... args) {
+      target().format(format, args);
+      return this;
+    }
+
+    @Override
+    public PrintStream format(Locale l, String format, Object... args) {
+      target().format(l, format, args);
+      return this;
+    }
+
+    @Override
+    public PrintStream append(CharSequence csq) {
+      target().append(csq);
+      return this;
+    }
+
+    @Override
+    public PrintStream append(CharSequence csq, int start, int end) {
+      target().append(csq, start, end);
+      return this;
+    }
+
+    @Override
+    public PrintStream append(char c) {
+      target().append(c);
+      return this;
+    }
+
+    @Override
+    public Charset charset() {
+      return target().charset();
+    }
+  }
+}
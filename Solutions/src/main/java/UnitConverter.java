@@ -5,9 +5,6 @@
  *                 time to make benchmark results easier to read.             *
 \******************************************************************************/
 
-import org.apfloat.Apfloat;
-import org.apfloat.Apint;
-
 public class UnitConverter {
   // Nanoseconds -> Microseconds
   public static double ns_us(long ns) {
@@ -19,8 +16,8 @@ public class UnitConverter {
     return ns*.000001;
   }
 
-  // Nanoseconds -> Seconds but with an Apint input
-  public static double ns_s(Apint ns) {
-    return Double.parseDouble(ns.multiply(new Apfloat(".000000001", 20)).toString());
+  // Nanoseconds -> Seconds
+  public static double ns_s(long ns) {
+    return ns*.000000001;
   }
 }
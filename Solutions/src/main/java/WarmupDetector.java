@@ -0,0 +1,104 @@
+/*** WarmupDetector.java ******************************************************\
+ * Author:         twisted_nematic57                                          *
+ * Date Created:   2026-10-17                                                 *
+ * Description:    Watches a benchmark while it runs and decides at which     *
+ *                 iteration the JVM reached a steady state: JIT compilation  *
+ *                 has stopped and the runtimes of the solution have settled. *
+\******************************************************************************/
+
+import java.lang.management.CompilationMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+
+public class WarmupDetector {
+  // A stretch of iterations counts as "quiet" once no JIT compilation has happened during it. Compilation happens on
+  // background threads and is only reported in whole milliseconds, so a quiet stretch must span a minimum number of
+  // iterations and a minimum fraction of the planned iterations (or, if there's no plan, of the iterations so far)
+  // before it's trusted. It's counted in iterations rather than wall-clock time, so that a solution that runs in a few
+  // µs doesn't need tens of thousands of iterations to reach a steady state.
+  private static final int QUIET_ITERATIONS = 20;
+  private static final double QUIET_FRACTION = 0.05;
+
+  // Runtimes have settled once the medians of the older and newer halves of the quiet stretch are within this
+  // fraction of each other.
+  private static final double SETTLED_TOLERANCE = 0.10;
+
+  private final CompilationMXBean compiler = ManagementFactory.getCompilationMXBean();
+  private final boolean compilerMonitored = compiler != null && compiler.isCompilationTimeMonitoringSupported();
+
+  private final int plannedIterations; // 0 if the number of iterations isn't known up front (adaptive benchmarks)
+  private final long[] window = new long[QUIET_ITERATIONS]; // Ring buffer holding the latest runtimes
+  private final long[] scratch = new long[QUIET_ITERATIONS / 2]; // Used to compute medians without allocating
+
+  private int iterations = 0; // Number of iterations observed so far
+  private long lastCompilationTime = -1;
+  private int quietSince = 0; // Index of the first iteration after the latest compilation activity
+  private int steadyStateStart = -1; // -1 until a steady state is detected
+
+  public WarmupDetector(int plannedIterations) {
+    this.plannedIterations = plannedIterations;
+  }
+
+  // Feeds the runtime of the iteration that just finished into the detector. Must be called after every iteration,
+  // outside of the timed region. Does not allocate.
+  public void observe(long runtime) {
+    window[iterations % QUIET_ITERATIONS] = runtime;
+    iterations++;
+
+    if(steadyStateStart >= 0) { // Once steady, always steady
+      return;
+    }
+
+    long compilationTime = compilerMonitored ? compiler.getTotalCompilationTime() : 0;
+    if(compilationTime != lastCompilationTime) { // The JIT did some work during this iteration; start over
+      lastCompilationTime = compilationTime;
+      quietSince = iterations;
+      return;
+    }
+
+    final int quietNeeded = Math.max(QUIET_ITERATIONS,
+        (int)(QUIET_FRACTION * (plannedIterations > 0 ? plannedIterations : iterations)));
+    if(iterations - quietSince >= quietNeeded && windowSettled()) {
+      steadyStateStart = quietSince;
+    }
+  }
+
+  // Returns the number of iterations that were spent warming up, i.e. the index of the first steady-state iteration.
+  // If a steady state hasn't been reached (yet), returns the number of iterations observed so far.
+  public int getWarmupIterations() {
+    return steadyStateStart >= 0 ? steadyStateStart : iterations;
+  }
+
+  public boolean isSteady() {
+    return steadyStateStart >= 0;
+  }
+
+  // Index of the first iteration after the latest JIT activity. Equals the number of iterations observed so far if the
+  // JIT was busy during the latest one.
+  public int getQuietSince() {
+    return quietSince;
+  }
+
+  // Compares the medians of the older and newer halves of the ring buffer.
+  private boolean windowSettled() {
+    final int half = QUIET_ITERATIONS / 2;
+    final int oldest = iterations % QUIET_ITERATIONS; // The ring buffer is full by now, so this is the oldest element
+
+    for(int i = 0; i < half; i++) {
+      scratch[i] = window[(oldest + i) % QUIET_ITERATIONS];
+    }
+    long olderMedian = median(scratch);
+
+    for(int i = 0; i < half; i++) {
+      scratch[i] = window[(oldest + half + i) % QUIET_ITERATIONS];
+    }
+    long newerMedian = median(scratch);
+
+    return Math.abs(newerMedian - olderMedian) <= SETTLED_TOLERANCE * Math.max(olderMedian, newerMedian);
+  }
+
+  private static long median(long[] values) {
+    Arrays.sort(values);
+    return values[values.length / 2];
+  }
+}
@@ -0,0 +1,71 @@
+/*** BenchmarkComparisonTest.java *********************************************\
+ * Author:         twisted_nematic57                                          *
+ * Date Created:   2026-10-18                                                 *
+ * Description:    Checks the Mann-Whitney U test of BenchmarkComparison      *
+ *                 against values worked out independently, and its           *
+ *                 Hodges-Lehmann estimate against a brute-force median of    *
+ *                 every pairwise difference.                                 *
+\******************************************************************************/
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import org.junit.jupiter.api.Test;
+
+class BenchmarkComparisonTest {
+  /* The expected U and p-values below were worked out without ranking: U by counting the pairs where the baseline was
+     slower (ties counting half), and p from the normal approximation with the tie-corrected variance and no continuity
+     correction, which is what BenchmarkComparison does. */
+  @Test
+  void tieHeavySamples() {
+    BenchmarkComparison comparison = new BenchmarkComparison(new long[] {1, 2, 2, 3, 3, 3, 4}, new long[] {2, 3, 3, 4, 4, 5});
+    assertEquals(11.0, comparison.getU(), 1e-9);
+    assertEquals(0.13704009229410957, comparison.getPValue(), 1e-7);
+    assertEquals("no significant change", comparison.getVerdict());
+  }
+
+  @Test
+  void tieHeavySamplesThatDiffer() {
+    BenchmarkComparison comparison = new BenchmarkComparison(new long[] {10, 10, 10, 10, 20, 20, 20, 30},
+        new long[] {10, 20, 20, 30, 30, 30, 30, 30, 40});
+    assertEquals(13.5, comparison.getU(), 1e-9);
+    assertEquals(0.02308705105901029, comparison.getPValue(), 1e-7);
+    assertEquals("regressed", comparison.getVerdict());
+  }
+
+  @Test
+  void identicalRuntimes() {
+    BenchmarkComparison comparison = new BenchmarkComparison(new long[] {5, 5, 5, 5}, new long[] {5, 5, 5});
+    assertEquals(6.0, comparison.getU(), 1e-9); // Half of the 12 pairs
+    assertEquals(1.0, comparison.getPValue());
+    assertEquals(0.0, comparison.getShift());
+  }
+
+  // Runtimes drawn from a handful of values, so that most differences are tied, with odd and even numbers of pairs
+  @Test
+  void hodgesLehmannMatchesBruteForce() {
+    SplittableRandom random = new SplittableRandom(57);
+    for(int trial = 0; trial < 200; trial++) {
+      long[] baseline = random.longs(1 + random.nextInt(40), 100, 100 + random.nextInt(1, 30)).toArray();
+      long[] candidate = random.longs(1 + random.nextInt(40), 90, 90 + random.nextInt(1, 50)).toArray();
+      double expected = bruteForceShift(baseline, candidate);
+      assertEquals(expected, new BenchmarkComparison(baseline, candidate).getShift(),
+          "baseline " + Arrays.toString(baseline) + ", candidate " + Arrays.toString(candidate));
+    }
+  }
+
+  // Median of all n1*n2 differences candidate[j] - baseline[i], found by sorting every one of them
+  private static double bruteForceShift(long[] baseline, long[] candidate) {
+    long[] differences = new long[baseline.length * candidate.length];
+    int k = 0;
+    for(long b : baseline) {
+      for(long c : candidate) {
+        differences[k++] = c - b;
+      }
+    }
+    Arrays.sort(differences);
+    int n = differences.length;
+    return n % 2 == 1 ? differences[n / 2] : (differences[n/2 - 1] + (double)differences[n / 2]) / 2;
+  }
+}
@@ -0,0 +1,60 @@
+/*** ResultsFileTest.java *****************************************************\
+ * Author:         twisted_nematic57                                          *
+ * Date Created:   2026-10-18                                                 *
+ * Description:    Checks that results written in the binary format read back *
+ *                 exactly, including runtimes that span more than one memory *
+ *                 mapping window.                                            *
+\******************************************************************************/
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ResultsFileTest {
+  /* The first block has a few more runtimes (and CPU times) than fit in one mapping, so both of its arrays get copied
+     through two windows, the second of which starts in the middle of a window's worth of the file. The second block is
+     small and comes right after it, so it's only read back right if the first one ended in the right place. */
+  @Test
+  void binaryRoundTripAcrossMappingWindows(@TempDir Path directory) throws IOException {
+    int perWindow = (int)(ResultsFile.MAP_WINDOW / Long.BYTES);
+    long[] runtimes = new long[perWindow + 5];
+    long[] cpuTimes = new long[runtimes.length];
+    for(int i = 0; i < runtimes.length; i++) { // Every value is different, so a shifted copy can't go unnoticed
+      runtimes[i] = 1000 + 3L*i;
+      cpuTimes[i] = 500 + 2L*i;
+    }
+    long[] smallRuntimes = {42, 43, 44, 45};
+    long[] smallAllocations = {1024, 2048, 0, 4096};
+    BenchmarkResult[] results = {
+        BenchmarkResult.fromRuntimes(runtimes, cpuTimes, null, 100, 100),
+        BenchmarkResult.fromRuntimes(smallRuntimes, null, smallAllocations, 4, 2) // Never reached a steady state
+    };
+    ResultsFile.Header header = new ResultsFile.Header("Codeforces", "p1A", 1, "Test VM 1.0", 1_792_000_000L);
+
+    Path file = directory.resolve("results.skrt");
+    ResultsFile.writeBinary(file, header, results);
+    ResultsFile.Contents contents = ResultsFile.readBinary(file);
+
+    assertEquals(header, contents.header());
+    assertEquals(2, contents.results().length);
+
+    BenchmarkResult big = contents.results()[0];
+    assertArrayEquals(runtimes, big.runtimes());
+    assertArrayEquals(cpuTimes, big.cpuTimes());
+    assertNull(big.allocations());
+    assertEquals(100, big.warmupIterations());
+    assertEquals(100, big.steadyStateStart());
+
+    BenchmarkResult small = contents.results()[1];
+    assertArrayEquals(smallRuntimes, small.runtimes());
+    assertNull(small.cpuTimes());
+    assertArrayEquals(smallAllocations, small.allocations());
+    assertEquals(4, small.warmupIterations());
+    assertEquals(2, small.steadyStateStart());
+  }
+}